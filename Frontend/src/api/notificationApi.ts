@@ -83,6 +83,61 @@ export const getUnreadNotificationCount = async (
   }
 };
 
+export interface StreamTokenResponse {
+  status: string;
+  token: string;
+  expiresInSeconds: number;
+}
+
+export interface NotificationStreamHandlers {
+  onOpen: () => void;
+  onUnreadCount: (count: number) => void;
+  onNotification: (notification: NotificationDTO) => void;
+  onClosed: () => void;
+}
+
+// Get a short-lived token for the notification stream (EventSource cannot send the auth header)
+export const getNotificationStreamToken = async (): Promise<StreamTokenResponse> => {
+  try {
+    debugLog('NOTIFICATION_API', 'Fetching notification stream token');
+    
+    const response = await api.post('/notifications/stream-token');
+    return response.data;
+  } catch (error: any) {
+    debugLog('NOTIFICATION_API', 'Error fetching notification stream token', error);
+    throw error;
+  }
+};
+
+// Open the Server-Sent Events stream of new notifications. The stream token expires quickly,
+// so the stream is closed on any error and the caller reconnects with a fresh token
+export const openNotificationStream = (
+  token: string,
+  handlers: NotificationStreamHandlers
+): EventSource => {
+  const source = new EventSource(
+    `${api.defaults.baseURL}/notifications/stream?token=${encodeURIComponent(token)}`
+  );
+  
+  source.onopen = () => {
+    debugLog('NOTIFICATION_API', 'Notification stream opened');
+    handlers.onOpen();
+  };
+  source.addEventListener('unread-count', (event) => {
+    handlers.onUnreadCount(Number((event as MessageEvent).data));
+  });
+  source.addEventListener('notification', (event) => {
+    handlers.onNotification(JSON.parse((event as MessageEvent).data));
+  });
+  source.onerror = () => {
+    debugLog('NOTIFICATION_API', 'Notification stream closed');
+    source.close();
+    handlers.onClosed();
+  };
+  
+  return source;
+};
+
 // Mark notification as read
 export const markNotificationAsRead = async (
   notificationId: number,
@@ -103,15 +158,16 @@ export const markNotificationAsRead = async (
   }
 };
 
-// Mark all notifications as read
+// Mark all notifications as read, up to the newest one the user has been shown
 export const markAllNotificationsAsRead = async (
-  userId: number
+  userId: number,
+  upToId?: number
 ): Promise<{ status: string; message: string }> => {
   try {
-    debugLog('NOTIFICATION_API', 'Marking all notifications as read', { userId });
+    debugLog('NOTIFICATION_API', 'Marking all notifications as read', { userId, upToId });
     
     const response = await api.put('/notifications/mark-all-read', null, {
-      params: { userId }
+      params: { userId, upToId }
     });
     
     debugLog('NOTIFICATION_API', 'Mark all as read response', response.data);
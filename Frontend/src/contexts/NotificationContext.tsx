@@ -52,19 +52,65 @@ export const NotificationProvider: React.FC<NotificationProviderProps> = ({ chil
     localStorage.setItem('lastShownNotificationId', id.toString());
   };
 
-  // Fetch initial data when user is available
+  // Fetch initial data when user is available, then receive new notifications over the
+  // server's event stream instead of polling
   useEffect(() => {
-    if (user) {
-      refreshNotifications();
-      fetchUnreadCount();
-      
-      // Set up polling for new notifications every 30 seconds
-      const interval = setInterval(() => {
-        checkForNewNotifications();
-      }, 30000);
+    if (!user) return;
 
-      return () => clearInterval(interval);
-    }
+    refreshNotifications();
+    fetchUnreadCount();
+
+    let source: EventSource | null = null;
+    let retryTimer: ReturnType<typeof setTimeout> | undefined;
+    let retryDelay = 1000;
+    let reconnecting = false;
+    let stopped = false;
+
+    const scheduleReconnect = () => {
+      if (stopped) return;
+      reconnecting = true;
+      retryTimer = setTimeout(connect, retryDelay);
+      retryDelay = Math.min(retryDelay * 2, 30000);
+    };
+
+    const connect = async () => {
+      try {
+        // Each connection needs a fresh stream token, they expire within a minute
+        const { token } = await notificationApi.getNotificationStreamToken();
+        if (stopped) return;
+
+        source = notificationApi.openNotificationStream(token, {
+          onOpen: () => {
+            retryDelay = 1000;
+            // Pick up anything created while the stream was down
+            if (reconnecting) {
+              refreshNotifications();
+            }
+          },
+          onUnreadCount: (count) => setUnreadCount(count),
+          onNotification: (notification) => {
+            debugLog('NOTIFICATION_CONTEXT', 'Received pushed notification', { id: notification.id });
+            setNotifications(prev => [notification, ...prev.filter(n => n.id !== notification.id)]);
+            setUnreadCount(prev => prev + 1);
+            if (notification.id !== getLastShownNotificationId()) {
+              setNewNotification(notification);
+            }
+          },
+          onClosed: scheduleReconnect
+        });
+      } catch (error) {
+        debugLog('NOTIFICATION_CONTEXT', 'Error opening notification stream', error);
+        scheduleReconnect();
+      }
+    };
+
+    connect();
+
+    return () => {
+      stopped = true;
+      clearTimeout(retryTimer);
+      source?.close();
+    };
   }, [user]);
 
   const refreshNotifications = async () => {
@@ -176,7 +222,9 @@ export const NotificationProvider: React.FC<NotificationProviderProps> = ({ chil
     try {
       debugLog('NOTIFICATION_CONTEXT', 'Marking all notifications as read');
 
-      await notificationApi.markAllNotificationsAsRead(user.id);
+      // Only what the user has seen; newer notifications stay unread
+      const newestId = notifications.reduce((max, n) => Math.max(max, n.id), 0);
+      await notificationApi.markAllNotificationsAsRead(user.id, newestId || undefined);
 
       // Update local state
       setNotifications(prev => 
@@ -72,7 +72,8 @@ const markAsRead = async (id: number) => {
 };
   const markAllAsRead = async () => {
     if (!user) return;
-    await notificationApi.markAllNotificationsAsRead(user.id);
+    const newestId = notifications.reduce((max, n) => Math.max(max, n.id), 0);
+    await notificationApi.markAllNotificationsAsRead(user.id, newestId || undefined);
     setNotifications(notifications.map(n => ({ ...n, isRead: true })));
     setUnreadCount(0);
   };
@@ -0,0 +1,73 @@
+package com.travelauthority.backend.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.dto.BookingResponseDTO;
+import com.travelauthority.backend.entity.PeopleCountsConverter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to turn the stored people counts of 10k bookings into response DTOs, once with the
+ * old per-row parse (readValue with a map type built on every call) and once with
+ * PeopleCountsConverter.
+ * Run with: mvn -Pjmh test-compile exec:exec -Djmh.benchmarks=BookingConversionBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingConversionBenchmark {
+
+    private static final int BOOKINGS = 10_000;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final PeopleCountsConverter converter = new PeopleCountsConverter();
+
+    private String[] storedPeopleCounts;
+
+    @Setup
+    public void setUp() {
+        storedPeopleCounts = new String[BOOKINGS];
+        for (int i = 0; i < BOOKINGS; i++) {
+            storedPeopleCounts[i] = "{\"foreignAdult\":" + (i % 4 + 1) + ",\"foreignKids\":" + (i % 3)
+                    + ",\"localAdult\":" + (i % 2) + ",\"localKids\":0}";
+        }
+    }
+
+    @Benchmark
+    public void perRowObjectMapper(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < BOOKINGS; i++) {
+            Map<String, Integer> peopleCounts = objectMapper.readValue(storedPeopleCounts[i],
+                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Integer.class));
+            blackhole.consume(toDTO(i, peopleCounts));
+        }
+    }
+
+    @Benchmark
+    public void peopleCountsConverter(Blackhole blackhole) {
+        for (int i = 0; i < BOOKINGS; i++) {
+            blackhole.consume(toDTO(i, converter.convertToEntityAttribute(storedPeopleCounts[i])));
+        }
+    }
+
+    private BookingResponseDTO toDTO(int i, Map<String, Integer> peopleCounts) {
+        return BookingResponseDTO.builder()
+                .id("TICK-" + i)
+                .peopleCounts(peopleCounts)
+                .build();
+    }
+}
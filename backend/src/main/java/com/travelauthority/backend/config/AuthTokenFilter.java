@@ -0,0 +1,50 @@
+package com.travelauthority.backend.config;
+
+import com.travelauthority.backend.dto.AuthPrincipal;
+import com.travelauthority.backend.service.TokenService;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Verifies the bearer token once per request and stores the caller as a request attribute,
+ * read by controllers with {@code @RequestAttribute(PRINCIPAL_ATTRIBUTE)}. Requests without
+ * a valid token pass through with no principal; each endpoint decides what it requires.
+ * The notification stream also accepts a short-lived stream token in the token query
+ * parameter, since a browser EventSource cannot send headers.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthTokenFilter extends OncePerRequestFilter {
+
+    public static final String PRINCIPAL_ATTRIBUTE = "authPrincipal";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String STREAM_PATH = "/api/v1/notifications/stream";
+    private static final String STREAM_TOKEN_PARAMETER = "token";
+
+    private final TokenService tokenService;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        AuthPrincipal principal = null;
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            principal = tokenService.verify(header.substring(BEARER_PREFIX.length()).trim());
+        } else if (STREAM_PATH.equals(request.getRequestURI())) {
+            principal = tokenService.verifyStreamToken(request.getParameter(STREAM_TOKEN_PARAMETER));
+        }
+        if (principal != null) {
+            request.setAttribute(PRINCIPAL_ATTRIBUTE, principal);
+        }
+        chain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,22 @@
+package com.travelauthority.backend.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Binds a controller parameter of type User to the caller of the request, resolved by
+ * {@link CurrentUserArgumentResolver}. A required parameter without an authenticated
+ * caller fails the request with 401.
+ */
+@Target(ElementType.PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CurrentUser {
+
+    boolean required() default true;
+
+    // Also accept the unverified X-User-Email header when there is no token. Only for the
+    // booking endpoints older clients call that way; anyone can send any email in it
+    boolean allowHeader() default false;
+}
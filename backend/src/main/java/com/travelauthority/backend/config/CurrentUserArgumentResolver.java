@@ -0,0 +1,74 @@
+package com.travelauthority.backend.config;
+
+import com.travelauthority.backend.dto.AuthPrincipal;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resolves {@link CurrentUser} parameters. The caller is taken from the principal
+ * AuthTokenFilter verified and loaded once; the User is then kept on the request, so
+ * services get the entity passed in instead of looking the caller up again. Parameters
+ * marked allowHeader fall back to the X-User-Email header for clients that do not send a
+ * token yet.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    public static final String CURRENT_USER_ATTRIBUTE = "currentUser";
+
+    private static final String USER_EMAIL_HEADER = "X-User-Email";
+
+    private final UserRepository userRepository;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && User.class.isAssignableFrom(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        CurrentUser annotation = parameter.getParameterAnnotation(CurrentUser.class);
+        User user = (User) webRequest.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            // Only a user behind a verified token is kept, so a header caller never reaches token-only parameters
+            user = loadTokenUser(webRequest);
+            if (user != null) {
+                webRequest.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+            } else if (annotation != null && annotation.allowHeader()) {
+                user = loadHeaderUser(webRequest);
+            }
+        }
+
+        if (user == null && annotation != null && annotation.required()) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication required");
+        }
+        return user;
+    }
+
+    private User loadTokenUser(NativeWebRequest webRequest) {
+        AuthPrincipal principal = (AuthPrincipal) webRequest.getAttribute(
+                AuthTokenFilter.PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        return principal != null ? userRepository.findById(principal.userId()).orElse(null) : null;
+    }
+
+    private User loadHeaderUser(NativeWebRequest webRequest) {
+        String email = webRequest.getHeader(USER_EMAIL_HEADER);
+        if (email != null && !email.isEmpty()) {
+            return userRepository.findByEmail(email).orElse(null);
+        }
+        return null;
+    }
+}
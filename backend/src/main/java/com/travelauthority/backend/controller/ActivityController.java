@@ -1,6 +1,7 @@
 package com.travelauthority.backend.controller;
 
 import com.travelauthority.backend.dto.ActivityDTO;
+import com.travelauthority.backend.dto.CacheStatsDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.service.ActivityService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,6 +40,12 @@ public class ActivityController {
         return activityService.getActiveActivities();
     }
 
+    // Hit/miss counters of the activity catalog cache
+    @GetMapping("/cache-stats")
+    public ResponseDTO<CacheStatsDTO> getCatalogCacheStats() {
+        return activityService.getCatalogCacheStats();
+    }
+
     @GetMapping("/{id}")
     public ResponseDTO<ActivityDTO> getActivityById(@PathVariable int id) {
         return activityService.getActivityById(id);
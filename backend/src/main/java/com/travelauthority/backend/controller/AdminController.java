@@ -5,22 +5,35 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.travelauthority.backend.config.AuthTokenFilter;
+import com.travelauthority.backend.config.CurrentUser;
+import com.travelauthority.backend.dto.AuthPrincipal;
 import com.travelauthority.backend.dto.ResponseDTO;
+import com.travelauthority.backend.dto.BookingPageDTO;
+import com.travelauthority.backend.dto.BookingPageRequestDTO;
 import com.travelauthority.backend.dto.BookingResponseDTO;
 import com.travelauthority.backend.dto.CreateNotificationDTO;
+import com.travelauthority.backend.dto.NotificationCleanupResultDTO;
 import com.travelauthority.backend.dto.NotificationDTO;
 import com.travelauthority.backend.service.AdminService;
+import com.travelauthority.backend.service.BookingExportService;
 import com.travelauthority.backend.service.UserService;
 import com.travelauthority.backend.service.BookingService;
 import com.travelauthority.backend.service.NotificationService;
+import com.travelauthority.backend.service.BookingOccupancyService;
 import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.entity.Notification;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.Map;
 import java.util.List;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -40,11 +53,16 @@ public class AdminController {
     @Autowired
     private NotificationService notificationService;
     
+    @Autowired
+    private BookingExportService bookingExportService;
+    
+    @Autowired
+    private BookingOccupancyService occupancyService;
+    
     @GetMapping("/dashboard")
-    public ResponseEntity<ResponseDTO> getDashboardData(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO> getDashboardData(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Admin dashboard data request received");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        ResponseDTO response = adminService.getDashboardData(token);
+        ResponseDTO response = adminService.getDashboardData(principal);
         
         if (response.getStatus().equals(HttpStatus.OK.toString())) {
             return ResponseEntity.ok(response);
@@ -87,10 +105,9 @@ public class AdminController {
     }
     
     @GetMapping("/check-admin")
-    public ResponseEntity<ResponseDTO> checkAdminAccess(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO> checkAdminAccess(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Checking admin access");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        ResponseDTO response = adminService.checkAdminAccess(token);
+        ResponseDTO response = adminService.checkAdminAccess(principal);
         
         if (response.getStatus().equals(HttpStatus.OK.toString())) {
             return ResponseEntity.ok(response);
@@ -100,10 +117,9 @@ public class AdminController {
     }
     
     @GetMapping("/check-owner")
-    public ResponseEntity<ResponseDTO> checkTravelActivityOwnerAccess(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO> checkTravelActivityOwnerAccess(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Checking travel activity owner access");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        ResponseDTO response = adminService.checkTravelActivityOwnerAccess(token);
+        ResponseDTO response = adminService.checkTravelActivityOwnerAccess(principal);
         
         if (response.getStatus().equals(HttpStatus.OK.toString())) {
             return ResponseEntity.ok(response);
@@ -113,10 +129,9 @@ public class AdminController {
     }
     
     @GetMapping("/owner/dashboard")
-    public ResponseEntity<ResponseDTO> getTravelOwnerDashboardData(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO> getTravelOwnerDashboardData(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Travel activity owner dashboard data request received");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        ResponseDTO response = adminService.getTravelOwnerDashboardData(token);
+        ResponseDTO response = adminService.getTravelOwnerDashboardData(principal);
         
         if (response.getStatus().equals(HttpStatus.OK.toString())) {
             return ResponseEntity.ok(response);
@@ -144,6 +159,64 @@ public class AdminController {
         }
     }
     
+    // Paginated variant of /bookings: ?status=&activityId=&ownerEmail=&fromDate=&toDate=&cursor=&size=
+    @GetMapping("/bookings/page")
+    public ResponseEntity<ResponseDTO<BookingPageDTO>> getAllBookingsPage(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+            BookingPageRequestDTO pageRequest) {
+        log.info("Admin request to get bookings page");
+        
+        ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+        if (!hasAccess(accessCheck, "isAdmin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<BookingPageDTO>builder()
+                    .status(HttpStatus.FORBIDDEN.toString())
+                    .message("Unauthorized: Admin access required")
+                    .build());
+        }
+        
+        try {
+            BookingPageDTO page = bookingService.getAllBookingsPage(pageRequest);
+            ResponseDTO<BookingPageDTO> response = new ResponseDTO<>();
+            response.setStatus("OK");
+            response.setMessage("Bookings retrieved successfully");
+            response.setData(page);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<BookingPageDTO> errorResponse = new ResponseDTO<>();
+            errorResponse.setStatus("BAD_REQUEST");
+            errorResponse.setMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error retrieving bookings page: ", e);
+            ResponseDTO<BookingPageDTO> errorResponse = new ResponseDTO<>();
+            errorResponse.setStatus("ERROR");
+            errorResponse.setMessage("Failed to retrieve bookings: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    // Stream all bookings as CSV or NDJSON: ?format=csv|ndjson&gzip=true
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportAllBookings(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Admin request to export bookings as {}", format);
+        
+        ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+        if (!hasAccess(accessCheck, "isAdmin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        BookingExportService.Format exportFormat = parseExportFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        return exportResponse(exportFormat, gzip,
+                out -> bookingExportService.exportAllBookings(exportFormat, out));
+    }
+    
     @PutMapping("/bookings/{bookingId}/status")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> updateBookingStatus(
             @PathVariable String bookingId, 
@@ -181,24 +254,45 @@ public class AdminController {
         }
     }
     
+    // Recompute the seat counters from the bookings and seat_holds tables after out-of-band changes
+    @PostMapping("/occupancy/rebuild")
+    public ResponseEntity<ResponseDTO<Void>> rebuildOccupancy(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
+        log.info("Admin request to rebuild booking occupancy");
+        
+        ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+        if (!hasAccess(accessCheck, "isAdmin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<Void>builder()
+                    .status(HttpStatus.FORBIDDEN.toString())
+                    .message("Unauthorized: Admin access required")
+                    .build());
+        }
+        
+        occupancyService.rebuild();
+        
+        ResponseDTO<Void> response = new ResponseDTO<>();
+        response.setStatus("OK");
+        response.setMessage("Booking occupancy rebuilt");
+        return ResponseEntity.ok(response);
+    }
+    
     // Travel Activity Owner Booking Management Endpoints
     
     @GetMapping("/owner/bookings")
-    public ResponseEntity<ResponseDTO<List<BookingResponseDTO>>> getOwnerBookings(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO<List<BookingResponseDTO>>> getOwnerBookings(@RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Travel activity owner request to get own bookings");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
-            // Verify token and check travel activity owner access
-            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
+            // Check travel activity owner access
+            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(principal);
+            if (!hasAccess(accessCheck, "isOwner")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<List<BookingResponseDTO>>builder()
                         .status(HttpStatus.FORBIDDEN.toString())
                         .message("Unauthorized: Travel activity owner access required")
                         .build());
             }
             
-            List<BookingResponseDTO> bookings = bookingService.getBookingsByActivityOwnerToken(token);
+            List<BookingResponseDTO> bookings = bookingService.getBookingsByActivityOwner(principal.email());
             ResponseDTO<List<BookingResponseDTO>> response = new ResponseDTO<>();
             response.setStatus("OK");
             response.setMessage("Owner bookings retrieved successfully");
@@ -213,13 +307,71 @@ public class AdminController {
         }
     }
     
+    // Paginated variant of /owner/bookings
+    @GetMapping("/owner/bookings/page")
+    public ResponseEntity<ResponseDTO<BookingPageDTO>> getOwnerBookingsPage(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+            BookingPageRequestDTO pageRequest) {
+        log.info("Travel activity owner request to get own bookings page");
+        
+        try {
+            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(principal);
+            if (!hasAccess(accessCheck, "isOwner")) {
+                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<BookingPageDTO>builder()
+                        .status(HttpStatus.FORBIDDEN.toString())
+                        .message("Unauthorized: Travel activity owner access required")
+                        .build());
+            }
+            
+            BookingPageDTO page = bookingService.getBookingsPageByActivityOwner(principal.email(), pageRequest);
+            ResponseDTO<BookingPageDTO> response = new ResponseDTO<>();
+            response.setStatus("OK");
+            response.setMessage("Owner bookings retrieved successfully");
+            response.setData(page);
+            return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            ResponseDTO<BookingPageDTO> errorResponse = new ResponseDTO<>();
+            errorResponse.setStatus("BAD_REQUEST");
+            errorResponse.setMessage(e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (Exception e) {
+            log.error("Error retrieving owner bookings page: ", e);
+            ResponseDTO<BookingPageDTO> errorResponse = new ResponseDTO<>();
+            errorResponse.setStatus("ERROR");
+            errorResponse.setMessage("Failed to retrieve owner bookings: " + e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
+        }
+    }
+    
+    // Stream the owner's bookings as CSV or NDJSON: ?format=csv|ndjson&gzip=true
+    @GetMapping("/owner/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportOwnerBookings(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Travel activity owner request to export bookings as {}", format);
+        
+        ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(principal);
+        if (!hasAccess(accessCheck, "isOwner")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        
+        BookingExportService.Format exportFormat = parseExportFormat(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        
+        String ownerEmail = principal.email();
+        return exportResponse(exportFormat, gzip,
+                out -> bookingExportService.exportBookingsByActivityOwner(ownerEmail, exportFormat, out));
+    }
+    
     @PutMapping("/owner/bookings/{bookingId}/status")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> updateOwnerBookingStatus(
             @PathVariable String bookingId, 
             @RequestBody Map<String, String> statusData,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser User owner) {
         log.info("Travel activity owner request to update booking status for booking ID: {}", bookingId);
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         String status = statusData.get("status");
         if (status == null) {
@@ -230,17 +382,13 @@ public class AdminController {
         }
         
         try {
-            // Verify token and check travel activity owner access
-            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<BookingResponseDTO>builder()
-                        .status(HttpStatus.FORBIDDEN.toString())
-                        .message("Unauthorized: Travel activity owner access required")
-                        .build());
+            // Check travel activity owner access
+            if (!owner.isTravelActivityOwner()) {
+                return ownerRequired();
             }
             
             Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-            BookingResponseDTO updatedBooking = bookingService.updateBookingStatusAsOwnerToken(bookingId, bookingStatus, token);
+            BookingResponseDTO updatedBooking = bookingService.updateBookingStatusAsOwner(bookingId, bookingStatus, owner);
             
             ResponseDTO<BookingResponseDTO> response = new ResponseDTO<>();
             response.setStatus("OK");
@@ -264,21 +412,16 @@ public class AdminController {
     @PostMapping("/owner/bookings/{bookingId}/complete")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> markOwnerBookingAsCompleted(
             @PathVariable String bookingId,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser User owner) {
         log.info("Travel activity owner request to mark booking {} as completed", bookingId);
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
-            // Verify token and check travel activity owner access
-            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<BookingResponseDTO>builder()
-                        .status(HttpStatus.FORBIDDEN.toString())
-                        .message("Unauthorized: Travel activity owner access required")
-                        .build());
+            // Check travel activity owner access
+            if (!owner.isTravelActivityOwner()) {
+                return ownerRequired();
             }
             
-            BookingResponseDTO completedBooking = bookingService.markBookingAsCompletedByOwnerToken(bookingId, token);
+            BookingResponseDTO completedBooking = bookingService.markBookingAsCompletedByOwner(bookingId, owner);
             
             ResponseDTO<BookingResponseDTO> response = new ResponseDTO<>();
             response.setStatus("OK");
@@ -297,9 +440,8 @@ public class AdminController {
     @PostMapping("/owner/bookings/verify-qr")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> verifyOwnerQRCode(
             @RequestBody Map<String, String> qrData,
-            @RequestHeader("Authorization") String authHeader) {
+            @CurrentUser User owner) {
         log.info("Travel activity owner QR code verification request");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         String qrCodeData = qrData.get("qrCodeData");
         
         if (qrCodeData == null || qrCodeData.isEmpty()) {
@@ -310,16 +452,12 @@ public class AdminController {
         }
         
         try {
-            // Verify token and check travel activity owner access
-            ResponseDTO accessCheck = adminService.checkTravelActivityOwnerAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<BookingResponseDTO>builder()
-                        .status(HttpStatus.FORBIDDEN.toString())
-                        .message("Unauthorized: Travel activity owner access required")
-                        .build());
+            // Check travel activity owner access
+            if (!owner.isTravelActivityOwner()) {
+                return ownerRequired();
             }
             
-            BookingResponseDTO verificationResult = bookingService.verifyQRCodeByOwnerToken(qrCodeData, token);
+            BookingResponseDTO verificationResult = bookingService.verifyQRCodeAsOwner(qrCodeData, owner);
             
             ResponseDTO<BookingResponseDTO> response = new ResponseDTO<>();
             response.setStatus("OK");
@@ -340,26 +478,20 @@ public class AdminController {
     @PostMapping("/notifications")
     public ResponseEntity<ResponseDTO<NotificationDTO>> createNotification(
             @RequestBody CreateNotificationDTO createDTO,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Admin request to create notification: {}", createDTO.getTitle());
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
             // Verify admin access
-            ResponseDTO accessCheck = adminService.checkAdminAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
+            ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+            if (!hasAccess(accessCheck, "isAdmin")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<NotificationDTO>builder()
                         .status(HttpStatus.FORBIDDEN.toString())
                         .message("Unauthorized: Admin access required")
                         .build());
             }
             
-            // Get admin user ID from token
-            String decodedToken = new String(java.util.Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            int adminUserId = Integer.parseInt(parts[0]);
-            
-            NotificationDTO notification = notificationService.createNotification(createDTO, adminUserId);
+            NotificationDTO notification = notificationService.createNotification(createDTO, principal.userId());
             
             ResponseDTO<NotificationDTO> response = new ResponseDTO<>();
             response.setStatus("OK");
@@ -379,14 +511,13 @@ public class AdminController {
     public ResponseEntity<ResponseDTO<Map<String, Object>>> getAllNotifications(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Admin request to get all notifications");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
             // Verify admin access
-            ResponseDTO accessCheck = adminService.checkAdminAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
+            ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+            if (!hasAccess(accessCheck, "isAdmin")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<Map<String, Object>>builder()
                         .status(HttpStatus.FORBIDDEN.toString())
                         .message("Unauthorized: Admin access required")
@@ -420,14 +551,13 @@ public class AdminController {
     public ResponseEntity<ResponseDTO<NotificationDTO>> updateNotification(
             @PathVariable Long notificationId,
             @RequestBody CreateNotificationDTO updateDTO,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Admin request to update notification ID: {}", notificationId);
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
             // Verify admin access
-            ResponseDTO accessCheck = adminService.checkAdminAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
+            ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+            if (!hasAccess(accessCheck, "isAdmin")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<NotificationDTO>builder()
                         .status(HttpStatus.FORBIDDEN.toString())
                         .message("Unauthorized: Admin access required")
@@ -453,14 +583,13 @@ public class AdminController {
     @DeleteMapping("/notifications/{notificationId}")
     public ResponseEntity<ResponseDTO<Void>> deleteNotification(
             @PathVariable Long notificationId,
-            @RequestHeader("Authorization") String authHeader) {
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
         log.info("Admin request to delete notification ID: {}", notificationId);
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
         
         try {
             // Verify admin access
-            ResponseDTO accessCheck = adminService.checkAdminAccess(token);
-            if (!accessCheck.getStatus().equals(HttpStatus.OK.toString())) {
+            ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+            if (!hasAccess(accessCheck, "isAdmin")) {
                 return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<Void>builder()
                         .status(HttpStatus.FORBIDDEN.toString())
                         .message("Unauthorized: Admin access required")
@@ -482,6 +611,26 @@ public class AdminController {
         }
     }
     
+    @PostMapping("/notifications/cleanup")
+    public ResponseEntity<ResponseDTO<NotificationCleanupResultDTO>> cleanupNotifications(
+            @RequestAttribute(name = AuthTokenFilter.PRINCIPAL_ATTRIBUTE, required = false) AuthPrincipal principal) {
+        log.info("Admin request to clean up expired notifications");
+        
+        ResponseDTO accessCheck = adminService.checkAdminAccess(principal);
+        if (!hasAccess(accessCheck, "isAdmin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(ResponseDTO.<NotificationCleanupResultDTO>builder()
+                    .status(HttpStatus.FORBIDDEN.toString())
+                    .message("Unauthorized: Admin access required")
+                    .build());
+        }
+        
+        ResponseDTO<NotificationCleanupResultDTO> response = new ResponseDTO<>();
+        response.setStatus("OK");
+        response.setMessage("Notification cleanup completed");
+        response.setData(notificationService.cleanupExpiredNotifications());
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/notifications/types")
     public ResponseEntity<ResponseDTO<Notification.NotificationType[]>> getNotificationTypes() {
         ResponseDTO<Notification.NotificationType[]> response = new ResponseDTO<>();
@@ -499,4 +648,51 @@ public class AdminController {
         response.setData(Notification.TargetUserType.values());
         return ResponseEntity.ok(response);
     }
+    
+    private <T> ResponseEntity<ResponseDTO<T>> ownerRequired() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ResponseDTO.<T>builder()
+                        .success(false)
+                        .status(HttpStatus.FORBIDDEN.toString())
+                        .message("Unauthorized: Travel activity owner access required")
+                        .build());
+    }
+    
+    private boolean hasAccess(ResponseDTO accessCheck, String flag) {
+        return accessCheck.getStatus().equals(HttpStatus.OK.toString())
+                && accessCheck.getData() instanceof Map<?, ?> data
+                && Boolean.TRUE.equals(data.get(flag));
+    }
+    
+    private BookingExportService.Format parseExportFormat(String format) {
+        try {
+            return BookingExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+    
+    private ResponseEntity<StreamingResponseBody> exportResponse(BookingExportService.Format format, boolean gzip,
+                                                                 StreamingResponseBody body) {
+        String fileName = "bookings." + (format == BookingExportService.Format.CSV ? "csv" : "ndjson");
+        MediaType contentType = format == BookingExportService.Format.CSV
+                ? new MediaType("text", "csv")
+                : new MediaType("application", "x-ndjson");
+        
+        StreamingResponseBody stream = body;
+        if (gzip) {
+            fileName += ".gz";
+            contentType = new MediaType("application", "gzip");
+            stream = out -> {
+                GZIPOutputStream gzipOut = new GZIPOutputStream(out, 64 * 1024);
+                body.writeTo(gzipOut);
+                gzipOut.finish();
+            };
+        }
+        
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .contentType(contentType)
+                .body(stream);
+    }
 }
@@ -3,6 +3,7 @@ package com.travelauthority.backend.controller;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.web.bind.annotation.*;
 
+import com.travelauthority.backend.dto.AvailabilityCalendarDTO;
 import com.travelauthority.backend.dto.AvailabilityCheckRequestDTO;
 import com.travelauthority.backend.dto.AvailabilityCheckResponseDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
@@ -43,4 +44,16 @@ public class AvailabilityController {
         
         return availabilityService.checkAvailability(request);
     }
+    
+    // Remaining spots for every date in a window, for the activity and each of its packages
+    @GetMapping("/availability-calendar")
+    public ResponseDTO<AvailabilityCalendarDTO> getAvailabilityCalendar(
+            @RequestParam Integer activityId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) Integer days) {
+        
+        log.info("Availability calendar request - activityId: {}, from: {}, days: {}", activityId, from, days);
+        
+        return availabilityService.getAvailabilityCalendar(activityId, from, days);
+    }
 }
@@ -1,13 +1,21 @@
 package com.travelauthority.backend.controller;
 
+import com.travelauthority.backend.config.CurrentUser;
+import com.travelauthority.backend.dto.BookingPageDTO;
+import com.travelauthority.backend.dto.BookingPageRequestDTO;
 import com.travelauthority.backend.dto.BookingRequestDTO;
 import com.travelauthority.backend.dto.BookingResponseDTO;
 import com.travelauthority.backend.dto.QRVerificationRequestDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
+import com.travelauthority.backend.dto.SeatHoldRequestDTO;
+import com.travelauthority.backend.dto.SeatHoldResponseDTO;
 import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.service.BookingService;
+import com.travelauthority.backend.service.SeatHoldService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -22,14 +30,14 @@ import java.util.Optional;
 public class BookingController {
     
     private final BookingService bookingService;
+    private final SeatHoldService seatHoldService;
     
     @PostMapping
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> createBooking(
             @RequestBody BookingRequestDTO request,
-            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+            @CurrentUser(allowHeader = true) User user) {
         try {
-            String email = userEmail != null ? userEmail : "user@example.com";
-            BookingResponseDTO booking = bookingService.createBooking(request, email);
+            BookingResponseDTO booking = bookingService.createBooking(request, user);
             
             return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
                     .success(true)
@@ -46,19 +54,64 @@ public class BookingController {
         }
     }
     
+    // Hold spots while the user completes checkout; pass the holdId when creating the booking
+    @PostMapping("/holds")
+    public ResponseEntity<ResponseDTO<SeatHoldResponseDTO>> createSeatHold(
+            @RequestBody SeatHoldRequestDTO request,
+            @CurrentUser(allowHeader = true) User user) {
+        try {
+            SeatHoldResponseDTO hold = seatHoldService.createHold(request, user.getEmail());
+            
+            return ResponseEntity.ok(ResponseDTO.<SeatHoldResponseDTO>builder()
+                    .success(true)
+                    .message("Seats held successfully")
+                    .data(hold)
+                    .build());
+        } catch (Exception e) {
+            log.error("Error creating seat hold: ", e);
+            return ResponseEntity.badRequest()
+                    .body(ResponseDTO.<SeatHoldResponseDTO>builder()
+                            .success(false)
+                            .message("Failed to hold seats: " + e.getMessage())
+                            .build());
+        }
+    }
+    
+    // Release a seat hold early, e.g. when the user leaves checkout
+    @DeleteMapping("/holds/{holdId}")
+    public ResponseEntity<ResponseDTO<String>> releaseSeatHold(
+            @PathVariable String holdId,
+            @CurrentUser(allowHeader = true) User user) {
+        try {
+            seatHoldService.releaseHold(holdId, user.getEmail());
+            
+            return ResponseEntity.ok(ResponseDTO.<String>builder()
+                    .success(true)
+                    .message("Seat hold released successfully")
+                    .data("Seat hold " + holdId + " has been released")
+                    .build());
+        } catch (Exception e) {
+            log.error("Error releasing seat hold {}: ", holdId, e);
+            return ResponseEntity.badRequest()
+                    .body(ResponseDTO.<String>builder()
+                            .success(false)
+                            .message("Failed to release seat hold: " + e.getMessage())
+                            .build());
+        }
+    }
+    
     @GetMapping
     public ResponseEntity<ResponseDTO<List<BookingResponseDTO>>> getUserBookings(
-            @RequestHeader(value = "X-User-Email", required = false) String userEmail,
+            @CurrentUser(allowHeader = true) User user,
             @RequestParam(required = false) String status) {
         try {
-            String email = userEmail != null ? userEmail : "user@example.com";
             List<BookingResponseDTO> bookings;
             
             if (status != null && !status.isEmpty()) {
                 Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-                bookings = bookingService.getUserBookingsByStatus(email, bookingStatus);
+                bookings = bookingService.getUserBookingsByStatus(user, bookingStatus);
             } else {
-                bookings = bookingService.getUserBookings(email);
+                bookings = bookingService.getUserBookings(user);
             }
             
             return ResponseEntity.ok(ResponseDTO.<List<BookingResponseDTO>>builder()
@@ -77,13 +130,35 @@ public class BookingController {
         }
     }
     
+    // Paginated user bookings: ?status=&activityId=&fromDate=&toDate=&cursor=&size=
+    @GetMapping("/page")
+    public ResponseEntity<ResponseDTO<BookingPageDTO>> getUserBookingsPage(
+            @CurrentUser(allowHeader = true) User user,
+            BookingPageRequestDTO pageRequest) {
+        try {
+            BookingPageDTO page = bookingService.getUserBookingsPage(user, pageRequest);
+            
+            return ResponseEntity.ok(ResponseDTO.<BookingPageDTO>builder()
+                    .success(true)
+                    .message("Bookings retrieved successfully")
+                    .data(page)
+                    .build());
+        } catch (Exception e) {
+            log.error("Error retrieving booking page: ", e);
+            return ResponseEntity.badRequest()
+                    .body(ResponseDTO.<BookingPageDTO>builder()
+                            .success(false)
+                            .message("Failed to retrieve bookings: " + e.getMessage())
+                            .build());
+        }
+    }
+    
     @GetMapping("/{bookingId}")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> getBookingById(
             @PathVariable String bookingId,
-            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+            @CurrentUser(allowHeader = true) User user) {
         try {
-            String email = userEmail != null ? userEmail : "user@example.com";
-            Optional<BookingResponseDTO> booking = bookingService.getBookingById(bookingId, email);
+            Optional<BookingResponseDTO> booking = bookingService.getBookingById(bookingId, user);
             
             if (booking.isPresent()) {
                 return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
@@ -108,12 +183,11 @@ public class BookingController {
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> updateBookingStatus(
             @PathVariable String bookingId,
             @RequestParam String status,
-            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+            @CurrentUser(allowHeader = true) User user) {
         try {
-            String email = userEmail != null ? userEmail : "user@example.com";
             Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
             
-            BookingResponseDTO updatedBooking = bookingService.updateBookingStatus(bookingId, bookingStatus, email);
+            BookingResponseDTO updatedBooking = bookingService.updateBookingStatus(bookingId, bookingStatus, user);
             
             return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
                     .success(true)
@@ -134,11 +208,10 @@ public class BookingController {
     @PutMapping("/{bookingId}/cancel")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> cancelBooking(
             @PathVariable String bookingId,
-            @RequestHeader(value = "X-User-Email", required = false) String userEmail) {
+            @CurrentUser(allowHeader = true) User user) {
         try {
-            String email = userEmail != null ? userEmail : "user@example.com";
             BookingResponseDTO cancelledBooking = bookingService.updateBookingStatus(
-                    bookingId, Booking.BookingStatus.CANCELLED, email);
+                    bookingId, Booking.BookingStatus.CANCELLED, user);
             
             return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
                     .success(true)
@@ -155,17 +228,22 @@ public class BookingController {
         }
     }
     
-    // QR Code verification endpoint for admin
+    // QR Code verification endpoint for admin. The admin endpoints below need a token, as
+    // the X-User-Email header would let anyone act as an admin, and answer 403 unless the
+    // token's user has the admin role
     @PostMapping("/verify-qr")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> verifyQRCode(
             @RequestBody QRVerificationRequestDTO request,
-            @RequestHeader(value = "X-User-Email", required = false) String adminEmail) {
+            @CurrentUser User admin) {
+        if (!admin.isAdmin()) {
+            return adminRequired();
+        }
         try {
-            log.info("QR Code verification endpoint called - adminEmail: {}", adminEmail);
+            log.info("QR Code verification endpoint called - adminEmail: {}", admin.getEmail());
             log.info("QR Code verification request: {}", request);
             log.info("QR Code data from request: {}", request != null ? request.getQrCodeData() : "null");
             
-            BookingResponseDTO verificationResult = bookingService.verifyQRCode(request.getQrCodeData(), adminEmail);
+            BookingResponseDTO verificationResult = bookingService.verifyQRCode(request.getQrCodeData(), admin.getEmail());
             
             return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
                     .success(true)
@@ -186,11 +264,14 @@ public class BookingController {
     @PostMapping("/{bookingId}/complete")
     public ResponseEntity<ResponseDTO<BookingResponseDTO>> markBookingAsCompleted(
             @PathVariable String bookingId,
-            @RequestHeader(value = "X-User-Email", required = false) String adminEmail) {
+            @CurrentUser User admin) {
+        if (!admin.isAdmin()) {
+            return adminRequired();
+        }
         try {
-            log.info("Request to mark booking {} as completed by admin: {}", bookingId, adminEmail);
+            log.info("Request to mark booking {} as completed by admin: {}", bookingId, admin.getEmail());
             
-            BookingResponseDTO completedBooking = bookingService.markBookingAsCompleted(bookingId, adminEmail);
+            BookingResponseDTO completedBooking = bookingService.markBookingAsCompleted(bookingId, admin.getEmail());
             
             return ResponseEntity.ok(ResponseDTO.<BookingResponseDTO>builder()
                     .success(true)
@@ -211,11 +292,14 @@ public class BookingController {
     @DeleteMapping("/{bookingId}")
     public ResponseEntity<ResponseDTO<String>> deleteBooking(
             @PathVariable String bookingId,
-            @RequestHeader(value = "X-User-Email", required = false) String adminEmail) {
+            @CurrentUser User admin) {
+        if (!admin.isAdmin()) {
+            return adminRequired();
+        }
         try {
-            log.info("Request to delete booking {} by admin: {}", bookingId, adminEmail);
+            log.info("Request to delete booking {} by admin: {}", bookingId, admin.getEmail());
             
-            bookingService.deleteBooking(bookingId, adminEmail);
+            bookingService.deleteBooking(bookingId, admin.getEmail());
             
             return ResponseEntity.ok(ResponseDTO.<String>builder()
                     .success(true)
@@ -235,11 +319,14 @@ public class BookingController {
     // Delete all bookings
     @DeleteMapping("/all")
     public ResponseEntity<ResponseDTO<String>> deleteAllBookings(
-            @RequestHeader(value = "X-User-Email", required = false) String adminEmail) {
+            @CurrentUser User admin) {
+        if (!admin.isAdmin()) {
+            return adminRequired();
+        }
         try {
-            log.warn("Request to delete ALL bookings by admin: {}", adminEmail);
+            log.warn("Request to delete ALL bookings by admin: {}", admin.getEmail());
             
-            bookingService.deleteAllBookings(adminEmail);
+            bookingService.deleteAllBookings(admin.getEmail());
             
             return ResponseEntity.ok(ResponseDTO.<String>builder()
                     .success(true)
@@ -255,4 +342,13 @@ public class BookingController {
                             .build());
         }
     }
+    
+    private <T> ResponseEntity<ResponseDTO<T>> adminRequired() {
+        return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                .body(ResponseDTO.<T>builder()
+                        .success(false)
+                        .status(HttpStatus.FORBIDDEN.toString())
+                        .message("Unauthorized: Admin access required")
+                        .build());
+    }
 }
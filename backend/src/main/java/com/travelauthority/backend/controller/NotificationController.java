@@ -1,15 +1,20 @@
 package com.travelauthority.backend.controller;
 
+import com.travelauthority.backend.config.CurrentUser;
 import com.travelauthority.backend.dto.CreateNotificationDTO;
 import com.travelauthority.backend.dto.NotificationDTO;
 import com.travelauthority.backend.entity.Notification;
+import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.service.NotificationService;
+import com.travelauthority.backend.service.TokenService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
 
@@ -21,17 +26,17 @@ import java.util.Map;
 public class NotificationController {
 
     private final NotificationService notificationService;
+    private final TokenService tokenService;
 
     // Get notifications for the current user
     @GetMapping("/my-notifications")
     public ResponseEntity<?> getMyNotifications(
-            @RequestParam Integer userId,
-            @RequestParam String userRole,
+            @CurrentUser User user,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size) {
         try {
             Page<NotificationDTO> notifications = notificationService.getNotificationsForUserPaged(
-                    userId, userRole, page, size);
+                    user.getId(), user.getRole().name(), page, size);
 
             return ResponseEntity.ok(Map.of(
                     "status", "OK",
@@ -49,11 +54,9 @@ public class NotificationController {
 
     // Get unread notification count
     @GetMapping("/unread-count")
-    public ResponseEntity<?> getUnreadCount(
-            @RequestParam Integer userId,
-            @RequestParam String userRole) {
+    public ResponseEntity<?> getUnreadCount(@CurrentUser User user) {
         try {
-            Long unreadCount = notificationService.getUnreadNotificationCount(userId, userRole);
+            Long unreadCount = notificationService.getUnreadNotificationCount(user.getId(), user.getRole().name());
 
             return ResponseEntity.ok(Map.of(
                     "status", "OK",
@@ -66,13 +69,30 @@ public class NotificationController {
         }
     }
 
+    // Short-lived token for opening the stream from a browser, as /stream?token=...
+    @PostMapping("/stream-token")
+    public ResponseEntity<?> getStreamToken(@CurrentUser User user) {
+        return ResponseEntity.ok(Map.of(
+                "status", "OK",
+                "token", tokenService.issueStreamToken(user),
+                "expiresInSeconds", tokenService.getStreamTtlSeconds()
+        ));
+    }
+
+    // Stream new notifications as Server-Sent Events instead of polling. Authenticated by
+    // the bearer token, or by a stream token in the token query parameter (see AuthTokenFilter)
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@CurrentUser User user) {
+        return notificationService.subscribe(user.getId(), user.getRole().name());
+    }
+
     // Mark notification as read
     @PutMapping("/{notificationId}/read")
     public ResponseEntity<?> markAsRead(
             @PathVariable Long notificationId,
-            @RequestParam Integer userId) {
+            @CurrentUser User user) {
         try {
-            notificationService.markNotificationAsRead(notificationId, userId);
+            notificationService.markNotificationAsRead(notificationId, user.getId());
 
             return ResponseEntity.ok(Map.of(
                     "status", "OK",
@@ -85,11 +105,12 @@ public class NotificationController {
         }
     }
 
-    // Mark all notifications as read
+    // Mark all notifications as read, up to the newest one the client has seen (?upToId=)
     @PutMapping("/mark-all-read")
-    public ResponseEntity<?> markAllAsRead(@RequestParam Integer userId) {
+    public ResponseEntity<?> markAllAsRead(@CurrentUser User user,
+                                           @RequestParam(required = false) Long upToId) {
         try {
-            notificationService.markAllNotificationsAsRead(userId);
+            notificationService.markAllNotificationsAsRead(user.getId(), upToId);
 
             return ResponseEntity.ok(Map.of(
                     "status", "OK",
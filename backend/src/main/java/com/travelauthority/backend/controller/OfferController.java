@@ -1,6 +1,7 @@
 package com.travelauthority.backend.controller;
 
 import com.travelauthority.backend.dto.OfferDTO;
+import com.travelauthority.backend.dto.PackageOfferCheckDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.service.OfferService;
 import com.travelauthority.backend.service.NotificationService;
@@ -9,6 +10,7 @@ import org.springframework.web.bind.annotation.*;
 
 import jakarta.annotation.PostConstruct;
 import java.util.List;
+import java.util.Map;
 
 @RequestMapping("/api/v1/offers")
 @CrossOrigin
@@ -48,6 +50,12 @@ public class OfferController {
         return offerService.getActiveOffers();
     }
 
+    // Offers selected for the homepage that are currently in effect
+    @GetMapping("/selected")
+    public ResponseDTO<List<OfferDTO>> getSelectedOffers() {
+        return offerService.getSelectedOffers();
+    }
+
     @GetMapping("/{id}")
     public ResponseDTO<OfferDTO> getOfferById(@PathVariable int id) {
         return offerService.getOfferById(id);
@@ -84,4 +92,16 @@ public class OfferController {
             @RequestParam Long packageId) {
         return offerService.checkPackageOffer(activityId, packageId);
     }
+    
+    // Best offer for many (activityId, packageId) pairs in one request
+    @PostMapping("/check-packages")
+    public ResponseDTO<List<PackageOfferCheckDTO>> checkPackageOffers(@RequestBody List<PackageOfferCheckDTO> packages) {
+        return offerService.checkPackageOffers(packages);
+    }
+    
+    // Best offer per package for each activity: ?activityIds=1,2,3
+    @GetMapping("/check-activities")
+    public ResponseDTO<Map<Integer, Map<Long, OfferDTO>>> checkActivityOffers(@RequestParam List<Integer> activityIds) {
+        return offerService.checkActivityOffers(activityIds);
+    }
 }
@@ -5,8 +5,10 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.travelauthority.backend.config.CurrentUser;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.dto.UserProfileDTO;
+import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.service.UserProfileService;
 
 import lombok.extern.slf4j.Slf4j;
@@ -21,10 +23,9 @@ public class UserProfileController {
     private UserProfileService userProfileService;
 
     @GetMapping("/profile")
-    public ResponseEntity<ResponseDTO> getUserProfile(@RequestHeader("Authorization") String authHeader) {
+    public ResponseEntity<ResponseDTO> getUserProfile(@CurrentUser User user) {
         log.info("Received request to get user profile");
-        String token = authHeader.substring(7); // Remove "Bearer " prefix
-        ResponseDTO response = userProfileService.getUserProfileByToken(token);
+        ResponseDTO response = userProfileService.getUserProfile(user);
         
         if (response.getStatus().equals(HttpStatus.OK.toString())) {
             return ResponseEntity.ok(response);
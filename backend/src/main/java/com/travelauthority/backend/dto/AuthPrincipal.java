@@ -0,0 +1,22 @@
+package com.travelauthority.backend.dto;
+
+import com.travelauthority.backend.entity.User;
+
+/**
+ * The caller of a request as carried by a verified token. Everything needed for an
+ * access check is in the token, so no user lookup is required to build it.
+ */
+public record AuthPrincipal(int userId, String email, User.Role role, long issuedAtMillis, long expiresAtMillis) {
+
+    public boolean isAdmin() {
+        return role == User.Role.ADMIN;
+    }
+
+    public boolean isTravelActivityOwner() {
+        return role == User.Role.TRAVEL_ACTIVITY_OWNER;
+    }
+
+    public boolean isExpired(long nowMillis) {
+        return nowMillis >= expiresAtMillis;
+    }
+}
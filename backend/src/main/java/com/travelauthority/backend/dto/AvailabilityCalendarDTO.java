@@ -0,0 +1,20 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityCalendarDTO {
+    private Integer activityId;
+    private String fromDate;
+    private String toDate;
+    private Integer totalAvailability; // Activity-wide capacity per day
+    private List<AvailabilityCalendarDayDTO> days;
+}
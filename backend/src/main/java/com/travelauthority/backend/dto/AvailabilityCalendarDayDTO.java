@@ -0,0 +1,19 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityCalendarDayDTO {
+    private String date;
+    private Integer bookedCount;
+    private Integer availableSpots;
+    private List<PackageAvailabilityDTO> packages;
+}
@@ -0,0 +1,18 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outbox payload of booking events
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingEventDTO {
+    private String bookingId;
+    private Integer userId;
+    private String activityTitle;
+    private Double totalPrice;
+}
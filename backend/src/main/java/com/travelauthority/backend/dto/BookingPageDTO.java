@@ -0,0 +1,19 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingPageDTO {
+    private List<BookingResponseDTO> bookings;
+    private Integer size;
+    private Boolean hasMore;
+    private String nextCursor; // Pass back as cursor to get the next page, null on the last page
+}
@@ -0,0 +1,21 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Query parameters of the paginated booking listings. All filters are optional.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookingPageRequestDTO {
+    private String status;
+    private Integer activityId;
+    private String ownerEmail; // Activity owner, honoured on the admin listing only
+    private String fromDate; // Booking date lower bound, YYYY-MM-DD inclusive
+    private String toDate;   // Booking date upper bound, YYYY-MM-DD inclusive
+    private String cursor;   // nextCursor of the previous page, empty for the first page
+    private Integer size;
+}
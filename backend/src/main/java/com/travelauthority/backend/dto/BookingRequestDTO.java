@@ -28,6 +28,9 @@ public class BookingRequestDTO {
     private String paymentMethod;
     private Map<String, Integer> peopleCounts;
     
+    // Seat hold taken during checkout; its spots are already reserved
+    private String holdId;
+    
     // Contact information
     private String contactEmail;
     private String contactPhone;
@@ -0,0 +1,21 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CacheStatsDTO {
+    private String name;
+    private Integer size;
+    private Integer maxSize;
+    private Long ttlSeconds;
+    private Long hits;
+    private Long misses;
+    private Long evictions;
+    private Double hitRate; // hits / (hits + misses), 0 when there were no lookups
+}
@@ -0,0 +1,17 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class NotificationCleanupResultDTO {
+    private Integer deactivated;       // Expired notifications switched to inactive
+    private Integer purged;            // Old inactive notifications deleted (0 when purging is off)
+    private Integer statusRowsDeleted; // Read status rows deleted with the purged notifications
+    private Long durationMs;
+}
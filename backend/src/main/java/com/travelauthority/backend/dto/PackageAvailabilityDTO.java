@@ -0,0 +1,18 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageAvailabilityDTO {
+    private Long packageId;
+    private String packageName;
+    private Integer totalAvailability;
+    private Integer bookedCount;
+    private Integer availableSpots;
+}
@@ -0,0 +1,20 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * An (activity, package) pair for the batch offer check. The request only sets the IDs;
+ * the response fills in the best offer, or leaves it null when there is none.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class PackageOfferCheckDTO {
+    private Integer activityId;
+    private Long packageId;
+    private OfferDTO offer;
+}
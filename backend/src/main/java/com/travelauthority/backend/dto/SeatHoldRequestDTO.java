@@ -0,0 +1,15 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequestDTO {
+    private Integer activityId;
+    private Long packageId; // Optional, holds against the activity only when null
+    private String bookingDate;
+    private Integer count; // Number of people to hold spots for
+}
@@ -0,0 +1,21 @@
+package com.travelauthority.backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHoldResponseDTO {
+    private String holdId;
+    private Integer activityId;
+    private Long packageId;
+    private String bookingDate;
+    private Integer count;
+    private LocalDateTime expiresAt;
+}
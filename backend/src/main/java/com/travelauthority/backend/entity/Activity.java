@@ -2,10 +2,14 @@ package com.travelauthority.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_activity_created_by", columnList = "created_by")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,17 +37,21 @@ public class Activity {
     @Column(length = 2000)
     private String additionalInfo;
     
+    // Batch-loaded so a list of activities needs one query per 100 activities, not one each
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "activity_highlights", joinColumns = @JoinColumn(name = "activity_id"))
     @Column(name = "highlight")
     private List<String> highlights;
     
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "activity_categories", joinColumns = @JoinColumn(name = "activity_id"))
     @Column(name = "category")
     private List<String> categories;
     
     @OneToMany(mappedBy = "activity", cascade = CascadeType.ALL, fetch = FetchType.LAZY, orphanRemoval = true)
+    @BatchSize(size = 100)
     private List<Package> packages;
     
     @Column(nullable = false)
@@ -2,18 +2,25 @@ package com.travelauthority.backend.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Mutability;
+import org.hibernate.type.descriptor.java.Immutability;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    @Index(name = "idx_bookings_time_id", columnList = "booking_time, id"),
+    @Index(name = "idx_bookings_user_time_id", columnList = "user_id, booking_time, id"),
+    @Index(name = "idx_bookings_activity_status", columnList = "activity_id, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Booking {
     @Id
-    private String id; // Will be generated in format TICK-{timestamp}
+    private String id; // Will be generated in format TICK-{snowflake id}
 
     @Column(nullable = false)
     private String title;
@@ -64,7 +71,9 @@ public class Booking {
 
     // Store people counts as JSON string
     @Column(length = 1000)
-    private String peopleCounts; // JSON format: {"foreignAdult": 2, "localKids": 1}
+    @Convert(converter = PeopleCountsConverter.class)
+    @Mutability(Immutability.class) // Replaced as a whole, never changed in place; skips snapshot copies
+    private Map<String, Integer> peopleCounts; // Stored as JSON: {"foreignAdult": 2, "localKids": 1}
 
     @Column(length = 2000)
     private String description;
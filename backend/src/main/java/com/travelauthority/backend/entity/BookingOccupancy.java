@@ -0,0 +1,41 @@
+package com.travelauthority.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Running count of booked people for one activity/package/date slot.
+ * Rows with packageId = ACTIVITY_TOTAL hold the activity-wide count for the date.
+ */
+@Entity
+@Table(name = "booking_occupancy", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_booking_occupancy_slot", columnNames = {"activity_id", "package_id", "booking_date"})
+}, indexes = {
+    @Index(name = "idx_booking_occupancy_activity_date", columnList = "activity_id, booking_date")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookingOccupancy {
+
+    // Package ID used for the activity-wide row of a date
+    public static final long ACTIVITY_TOTAL = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Integer activityId;
+
+    @Column(nullable = false)
+    private Long packageId;
+
+    @Column(nullable = false, length = 20)
+    private String bookingDate;
+
+    @Column(nullable = false)
+    @Builder.Default
+    private Integer bookedCount = 0;
+}
@@ -22,7 +22,17 @@ public class Notification {
     }
 
     public enum TargetUserType {
-        ALL_USERS, NORMAL_USERS, ACTIVITY_OWNERS, SPECIFIC_USER
+        ALL_USERS, NORMAL_USERS, ACTIVITY_OWNERS, SPECIFIC_USER;
+
+        // Same targeting rules as NotificationRepository.findActiveNotificationsForUser
+        public boolean includes(Integer targetUserId, Integer userId, String userRole) {
+            return switch (this) {
+                case ALL_USERS -> true;
+                case NORMAL_USERS -> "USER".equals(userRole);
+                case ACTIVITY_OWNERS -> "TRAVEL_ACTIVITY_OWNER".equals(userRole);
+                case SPECIFIC_USER -> targetUserId != null && targetUserId.equals(userId);
+            };
+        }
     }
 
     @Id
@@ -3,6 +3,7 @@ package com.travelauthority.backend.entity;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.util.List;
 
@@ -45,6 +46,7 @@ public class Package {
     private Double localKidPrice;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "package_features", joinColumns = @JoinColumn(name = "package_id"))
     @Column(name = "feature")
     private List<String> features;
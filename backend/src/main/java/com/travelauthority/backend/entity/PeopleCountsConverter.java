@@ -0,0 +1,56 @@
+package com.travelauthority.backend.entity;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Stores a booking's people counts ({"foreignAdult": 2, "localKids": 1}) as a JSON column.
+ * The reader and writer are built once and are thread-safe, so each row costs one parse
+ * with no per-call type construction.
+ */
+@Converter
+public class PeopleCountsConverter implements AttributeConverter<Map<String, Integer>, String> {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Integer>> TYPE = new TypeReference<>() {};
+    private static final ObjectReader READER = MAPPER.readerFor(TYPE);
+    private static final ObjectWriter WRITER = MAPPER.writerFor(TYPE);
+
+    @Override
+    public String convertToDatabaseColumn(Map<String, Integer> peopleCounts) {
+        if (peopleCounts == null) {
+            return null;
+        }
+        try {
+            return WRITER.writeValueAsString(peopleCounts);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error serializing people counts", e);
+        }
+    }
+
+    @Override
+    public Map<String, Integer> convertToEntityAttribute(String json) {
+        if (json == null || json.isEmpty()) {
+            return null;
+        }
+        try {
+            Map<String, Integer> peopleCounts = READER.readValue(json);
+            // A stored JSON null reads back like a NULL column
+            if (peopleCounts == null) {
+                return null;
+            }
+            // Read-only so the mapped attribute can be treated as immutable by Hibernate
+            return Collections.unmodifiableMap(peopleCounts);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Error reading people counts", e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.travelauthority.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seats held for a user during checkout. The seats are already counted in booking_occupancy;
+ * deleting the row hands them to a booking (claim) or gives them back (release or expiry),
+ * so every backend node sees the same holds and they survive a restart.
+ */
+@Entity
+@Table(name = "seat_holds", indexes = {
+    @Index(name = "idx_seat_holds_expires_at", columnList = "expires_at"),
+    @Index(name = "idx_seat_holds_user_email", columnList = "user_email")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SeatHold {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(nullable = false)
+    private String userEmail;
+
+    @Column(nullable = false)
+    private Integer activityId;
+
+    @Column
+    private Long packageId;
+
+    @Column(nullable = false, length = 20)
+    private String bookingDate;
+
+    @Column(name = "seat_count", nullable = false)
+    private Integer count;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,5 +1,6 @@
 package com.travelauthority.backend.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -45,6 +46,12 @@ public class User {
     @Builder.Default
     private Role role = Role.USER; // Default role
     
+    // Epoch millis; login tokens issued at or before this are rejected. Only written by
+    // UserRepository.revokeTokens, so saving the entity never resets it
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long tokensValidAfter;
+    
     // Helper methods
     public boolean isAdmin() {
         return role == Role.ADMIN;
@@ -9,7 +9,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "user_notification_status")
+@Table(name = "user_notification_status", indexes = {
+    @Index(name = "idx_uns_user_notification", columnList = "user_id, notification_id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
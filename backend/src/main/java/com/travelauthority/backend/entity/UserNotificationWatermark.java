@@ -0,0 +1,33 @@
+package com.travelauthority.backend.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Per-user "read up to" mark. Every notification with an ID at or below readUpToId counts
+ * as read for the user; user_notification_status only holds reads above the mark.
+ * Users who never marked everything as read have no row.
+ */
+@Entity
+@Table(name = "user_notification_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserNotificationWatermark {
+
+    @Id
+    @Column(name = "user_id")
+    private Integer userId;
+
+    @Column(nullable = false)
+    private Long readUpToId;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
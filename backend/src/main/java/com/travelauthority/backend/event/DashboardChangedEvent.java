@@ -0,0 +1,58 @@
+package com.travelauthority.backend.event;
+
+import com.travelauthority.backend.entity.Booking;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A write that changes the admin dashboard totals, applied to the in-memory dashboard
+ * snapshot after commit. Bulk deletes send a reset, which reloads the snapshot.
+ */
+@Getter
+@AllArgsConstructor
+public class DashboardChangedEvent {
+
+    private final int usersDelta;
+    private final int activitiesDelta;
+    // A booking leaving one status and/or entering another; null when not applicable
+    private final Booking.BookingStatus removedStatus;
+    private final Booking.BookingStatus addedStatus;
+    private final double totalPrice;
+    private final boolean reset;
+
+    public static DashboardChangedEvent userAdded() {
+        return new DashboardChangedEvent(1, 0, null, null, 0, false);
+    }
+
+    public static DashboardChangedEvent userRemoved() {
+        return new DashboardChangedEvent(-1, 0, null, null, 0, false);
+    }
+
+    public static DashboardChangedEvent activityAdded() {
+        return new DashboardChangedEvent(0, 1, null, null, 0, false);
+    }
+
+    public static DashboardChangedEvent activityRemoved() {
+        return new DashboardChangedEvent(0, -1, null, null, 0, false);
+    }
+
+    public static DashboardChangedEvent bookingAdded(Booking booking) {
+        return new DashboardChangedEvent(0, 0, null, booking.getStatus(), priceOf(booking), false);
+    }
+
+    public static DashboardChangedEvent bookingStatusChanged(Booking booking, Booking.BookingStatus previousStatus) {
+        return new DashboardChangedEvent(0, 0, previousStatus, booking.getStatus(), priceOf(booking), false);
+    }
+
+    public static DashboardChangedEvent bookingRemoved(Booking booking) {
+        return new DashboardChangedEvent(0, 0, booking.getStatus(), null, priceOf(booking), false);
+    }
+
+    public static DashboardChangedEvent reset() {
+        return new DashboardChangedEvent(0, 0, null, null, 0, true);
+    }
+
+    private static double priceOf(Booking booking) {
+        return booking.getTotalPrice() != null ? booking.getTotalPrice() : 0.0;
+    }
+}
@@ -0,0 +1,55 @@
+package com.travelauthority.backend.event;
+
+import com.travelauthority.backend.dto.NotificationDTO;
+import com.travelauthority.backend.entity.Notification;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published when a notification is created, edited, removed or read, so read models
+ * such as the unread counters can follow along without querying the database.
+ */
+@Getter
+@AllArgsConstructor
+public class NotificationChangedEvent {
+
+    public enum Kind {
+        CREATED, UPDATED, REMOVED, READ, ALL_READ
+    }
+
+    private final Kind kind;
+    private final Long notificationId;
+    // Reader for READ and ALL_READ
+    private final Integer userId;
+    // Audience of the notification for CREATED and UPDATED
+    private final Notification.TargetUserType targetUserType;
+    private final Integer targetUserId;
+    private final LocalDateTime expiresAt;
+    // The new notification for CREATED, as pushed to connected users
+    private final NotificationDTO notification;
+
+    public static NotificationChangedEvent created(NotificationDTO notification) {
+        return new NotificationChangedEvent(Kind.CREATED, notification.getId(), null,
+                notification.getTargetUserType(), notification.getTargetUserId(), notification.getExpiresAt(),
+                notification);
+    }
+
+    public static NotificationChangedEvent updated(Notification notification) {
+        return new NotificationChangedEvent(Kind.UPDATED, notification.getId(), null,
+                notification.getTargetUserType(), notification.getTargetUserId(), notification.getExpiresAt(), null);
+    }
+
+    public static NotificationChangedEvent removed(Long notificationId) {
+        return new NotificationChangedEvent(Kind.REMOVED, notificationId, null, null, null, null, null);
+    }
+
+    public static NotificationChangedEvent read(Long notificationId, Integer userId) {
+        return new NotificationChangedEvent(Kind.READ, notificationId, userId, null, null, null, null);
+    }
+
+    public static NotificationChangedEvent allRead(Integer userId) {
+        return new NotificationChangedEvent(Kind.ALL_READ, null, userId, null, null, null, null);
+    }
+}
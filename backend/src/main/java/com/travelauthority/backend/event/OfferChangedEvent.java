@@ -0,0 +1,17 @@
+package com.travelauthority.backend.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published when the set of offers in effect changes, either because an offer was
+ * created, edited or deleted, or because a start or end date was reached.
+ */
+@Getter
+@AllArgsConstructor
+public class OfferChangedEvent {
+    // Offers that became effective, stopped being effective or changed while effective
+    private final Set<Integer> offerIds;
+}
@@ -1,9 +1,12 @@
 package com.travelauthority.backend.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import com.travelauthority.backend.entity.Activity;
 
 import java.util.List;
+import java.util.Optional;
 
 public interface ActivityRepository extends JpaRepository<Activity, Integer> {
     // Find all activities where active is true
@@ -17,4 +20,25 @@ public interface ActivityRepository extends JpaRepository<Activity, Integer> {
     
     // Count activities by creator
     long countByCreatedBy(String createdBy);
+    
+    // Ownership check by primary key, used to authorize owner actions on a booking
+    boolean existsByIdAndCreatedBy(int id, String createdBy);
+    
+    // Fetch-planned reads for building DTOs: packages are joined in the same query and the
+    // highlights, categories and package features are batch-loaded (see @BatchSize on the entities)
+    @EntityGraph(attributePaths = "packages")
+    @Query("SELECT a FROM Activity a")
+    List<Activity> findAllWithPackages();
+    
+    @EntityGraph(attributePaths = "packages")
+    List<Activity> findWithPackagesByActiveTrue();
+    
+    @EntityGraph(attributePaths = "packages")
+    List<Activity> findWithPackagesByCreatedBy(String createdBy);
+    
+    @EntityGraph(attributePaths = "packages")
+    List<Activity> findWithPackagesByCreatedByAndActiveTrue(String createdBy);
+    
+    @EntityGraph(attributePaths = "packages")
+    Optional<Activity> findWithPackagesById(int id);
 }
@@ -0,0 +1,93 @@
+package com.travelauthority.backend.repository;
+
+import com.travelauthority.backend.entity.BookingOccupancy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BookingOccupancyRepository extends JpaRepository<BookingOccupancy, Long> {
+
+    // Read the booked count of a single slot
+    @Query("SELECT o.bookedCount FROM BookingOccupancy o WHERE o.activityId = :activityId AND o.packageId = :packageId AND o.bookingDate = :bookingDate")
+    Optional<Integer> findBookedCount(@Param("activityId") Integer activityId,
+                                      @Param("packageId") Long packageId,
+                                      @Param("bookingDate") String bookingDate);
+
+    // All slots of an activity in a date window (dates are stored as YYYY-MM-DD, so string order is date order)
+    List<BookingOccupancy> findByActivityIdAndBookingDateBetween(Integer activityId, String fromDate, String toDate);
+
+    // Add delta to a slot, creating the row on first use
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count) " +
+                   "VALUES (:activityId, :packageId, :bookingDate, GREATEST(:delta, 0)) " +
+                   "ON DUPLICATE KEY UPDATE booked_count = GREATEST(booked_count + :delta, 0)",
+           nativeQuery = true)
+    int adjustBookedCount(@Param("activityId") Integer activityId,
+                          @Param("packageId") Long packageId,
+                          @Param("bookingDate") String bookingDate,
+                          @Param("delta") int delta);
+
+    // Create a slot row if missing and take an exclusive lock on it. The no-op upsert locks an
+    // existing row exclusively (INSERT IGNORE would take a shared lock, and two callers each
+    // holding one deadlock when they both go on to update the row)
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count) " +
+                   "VALUES (:activityId, :packageId, :bookingDate, 0) " +
+                   "ON DUPLICATE KEY UPDATE booked_count = booked_count",
+           nativeQuery = true)
+    int lockSlot(@Param("activityId") Integer activityId,
+                   @Param("packageId") Long packageId,
+                   @Param("bookingDate") String bookingDate);
+
+    // Take count seats only if the slot stays within capacity; returns 0 when it would oversell
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE booking_occupancy SET booked_count = booked_count + :count " +
+                   "WHERE activity_id = :activityId AND package_id = :packageId AND booking_date = :bookingDate " +
+                   "AND booked_count + :count <= :capacity",
+           nativeQuery = true)
+    int reserveIfAvailable(@Param("activityId") Integer activityId,
+                           @Param("packageId") Long packageId,
+                           @Param("bookingDate") String bookingDate,
+                           @Param("count") int count,
+                           @Param("capacity") int capacity);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM BookingOccupancy o")
+    void deleteAllSlots();
+
+    // Rebuild per-package rows from non-cancelled bookings and outstanding seat holds
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count) " +
+                   "SELECT s.activity_id, s.package_id, s.booking_date, SUM(s.seats) FROM (" +
+                   "SELECT b.activity_id, b.package_id, b.booking_date, b.total_persons AS seats FROM bookings b " +
+                   "WHERE b.status <> 'CANCELLED' " +
+                   "UNION ALL SELECT h.activity_id, h.package_id, h.booking_date, h.seat_count FROM seat_holds h" +
+                   ") s WHERE s.package_id IS NOT NULL " +
+                   "GROUP BY s.activity_id, s.package_id, s.booking_date",
+           nativeQuery = true)
+    int rebuildPackageSlots();
+
+    // Rebuild activity-wide rows from non-cancelled bookings and outstanding seat holds
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count) " +
+                   "SELECT s.activity_id, 0, s.booking_date, SUM(s.seats) FROM (" +
+                   "SELECT b.activity_id, b.booking_date, b.total_persons AS seats FROM bookings b " +
+                   "WHERE b.status <> 'CANCELLED' " +
+                   "UNION ALL SELECT h.activity_id, h.booking_date, h.seat_count FROM seat_holds h" +
+                   ") s GROUP BY s.activity_id, s.booking_date",
+           nativeQuery = true)
+    int rebuildActivitySlots();
+}
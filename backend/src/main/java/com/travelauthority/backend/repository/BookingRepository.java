@@ -2,13 +2,18 @@ package com.travelauthority.backend.repository;
 
 import com.travelauthority.backend.entity.Booking;
 import com.travelauthority.backend.entity.User;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, String> {
@@ -36,6 +41,25 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     @Query("SELECT SUM(b.totalPrice) FROM Booking b WHERE b.status = 'CONFIRMED' OR b.status = 'COMPLETED'")
     Double getTotalRevenue();
     
+    // All admin dashboard totals in one round trip: (metric, count, revenue) rows for USERS,
+    // ACTIVITIES and each booking status
+    @Query(value = "SELECT 'USERS' AS metric, COUNT(*) AS total, 0 AS revenue FROM users " +
+                   "UNION ALL SELECT 'ACTIVITIES', COUNT(*), 0 FROM activity " +
+                   "UNION ALL SELECT status, COUNT(*), COALESCE(SUM(total_price), 0) FROM bookings GROUP BY status",
+           nativeQuery = true)
+    List<Object[]> getDashboardAggregates();
+    
+    // All owner dashboard totals in one round trip: (metric, count, revenue) rows for the owner's
+    // ACTIVITIES, OFFERS and SELECTED_OFFERS, then each booking status joined through the owner's activities
+    @Query(value = "SELECT 'ACTIVITIES' AS metric, COUNT(*) AS total, 0 AS revenue FROM activity WHERE created_by = :ownerEmail " +
+                   "UNION ALL SELECT 'OFFERS', COUNT(*), 0 FROM offer WHERE created_by = :ownerEmail " +
+                   "UNION ALL SELECT 'SELECTED_OFFERS', COUNT(*), 0 FROM offer " +
+                   "WHERE created_by = :ownerEmail AND selected_for_homepage = true " +
+                   "UNION ALL SELECT b.status, COUNT(*), COALESCE(SUM(b.total_price), 0) FROM bookings b " +
+                   "JOIN activity a ON a.id = b.activity_id WHERE a.created_by = :ownerEmail GROUP BY b.status",
+           nativeQuery = true)
+    List<Object[]> getOwnerDashboardAggregates(@Param("ownerEmail") String ownerEmail);
+    
     // Get revenue by activity
     @Query("SELECT SUM(b.totalPrice) FROM Booking b WHERE b.activityId = :activityId AND (b.status = 'CONFIRMED' OR b.status = 'COMPLETED')")
     Double getRevenueByActivity(@Param("activityId") Integer activityId);
@@ -44,22 +68,54 @@ public interface BookingRepository extends JpaRepository<Booking, String> {
     List<Booking> findByActivityIdAndBookingDate(Integer activityId, String bookingDate);
     
     // Find bookings for activities created by a specific owner
-    @Query("SELECT b FROM Booking b WHERE b.activityId IN (SELECT a.id FROM Activity a WHERE a.createdBy = :ownerEmail) ORDER BY b.bookingTime DESC")
+    @Query("SELECT b FROM Booking b JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail ORDER BY b.bookingTime DESC")
     List<Booking> findBookingsByActivityOwner(@Param("ownerEmail") String ownerEmail);
     
     // Find bookings for activities created by a specific owner with status filter
-    @Query("SELECT b FROM Booking b WHERE b.activityId IN (SELECT a.id FROM Activity a WHERE a.createdBy = :ownerEmail) AND b.status = :status ORDER BY b.bookingTime DESC")
+    @Query("SELECT b FROM Booking b JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail AND b.status = :status ORDER BY b.bookingTime DESC")
     List<Booking> findBookingsByActivityOwnerAndStatus(@Param("ownerEmail") String ownerEmail, @Param("status") Booking.BookingStatus status);
     
     // Count bookings for activities created by a specific owner
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.activityId IN (SELECT a.id FROM Activity a WHERE a.createdBy = :ownerEmail)")
+    @Query("SELECT COUNT(b) FROM Booking b JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail")
     Long countBookingsByActivityOwner(@Param("ownerEmail") String ownerEmail);
     
     // Count bookings by status for activities created by a specific owner
-    @Query("SELECT COUNT(b) FROM Booking b WHERE b.activityId IN (SELECT a.id FROM Activity a WHERE a.createdBy = :ownerEmail) AND b.status = :status")
+    @Query("SELECT COUNT(b) FROM Booking b JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail AND b.status = :status")
     Long countBookingsByActivityOwnerAndStatus(@Param("ownerEmail") String ownerEmail, @Param("status") Booking.BookingStatus status);
     
     // Get total revenue for activities created by a specific owner
-    @Query("SELECT SUM(b.totalPrice) FROM Booking b WHERE b.activityId IN (SELECT a.id FROM Activity a WHERE a.createdBy = :ownerEmail) AND (b.status = 'CONFIRMED' OR b.status = 'COMPLETED')")
+    @Query("SELECT SUM(b.totalPrice) FROM Booking b JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail AND (b.status = 'CONFIRMED' OR b.status = 'COMPLETED')")
     Double getTotalRevenueByActivityOwner(@Param("ownerEmail") String ownerEmail);
+    
+    // Keyset page of bookings, newest first. Null parameters are not filtered on; the cursor is the
+    // (bookingTime, id) of the last row of the previous page. Pass the page size as a Pageable limit.
+    // A left join, so unfiltered pages still list bookings whose activity has been deleted.
+    @Query("SELECT b FROM Booking b LEFT JOIN Activity a ON a.id = b.activityId " +
+           "WHERE (:userId IS NULL OR b.user.id = :userId) " +
+           "AND (:ownerEmail IS NULL OR a.createdBy = :ownerEmail) " +
+           "AND (:status IS NULL OR b.status = :status) " +
+           "AND (:activityId IS NULL OR b.activityId = :activityId) " +
+           "AND (:fromDate IS NULL OR b.bookingDate >= :fromDate) " +
+           "AND (:toDate IS NULL OR b.bookingDate <= :toDate) " +
+           "AND (:cursorTime IS NULL OR b.bookingTime < :cursorTime OR (b.bookingTime = :cursorTime AND b.id < :cursorId)) " +
+           "ORDER BY b.bookingTime DESC, b.id DESC")
+    List<Booking> findPage(@Param("userId") Integer userId,
+                           @Param("ownerEmail") String ownerEmail,
+                           @Param("status") Booking.BookingStatus status,
+                           @Param("activityId") Integer activityId,
+                           @Param("fromDate") String fromDate,
+                           @Param("toDate") String toDate,
+                           @Param("cursorTime") LocalDateTime cursorTime,
+                           @Param("cursorId") String cursorId,
+                           Pageable pageable);
+    
+    // Cursor over all bookings for exports; a fetch size of Integer.MIN_VALUE makes MySQL stream rows one at a time
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user ORDER BY b.bookingTime DESC, b.id DESC")
+    Stream<Booking> streamAllForExport();
+    
+    // Cursor over the bookings of an owner's activities for exports
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "-2147483648"))
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN Activity a ON a.id = b.activityId WHERE a.createdBy = :ownerEmail ORDER BY b.bookingTime DESC, b.id DESC")
+    Stream<Booking> streamByActivityOwnerForExport(@Param("ownerEmail") String ownerEmail);
 }
@@ -5,11 +5,14 @@ import com.travelauthority.backend.entity.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -45,20 +48,32 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
             Pageable pageable);
 
     // Find unread notifications count for a user
+    // Notifications at or below the user's read watermark count as read
     @Query("SELECT COUNT(n) FROM Notification n LEFT JOIN UserNotificationStatus uns " +
            "ON n.id = uns.notification.id AND uns.user.id = :userId " +
+           "LEFT JOIN UserNotificationWatermark w ON w.userId = :userId " +
            "WHERE (n.targetUserType = 'ALL_USERS' OR " +
            "(n.targetUserType = 'NORMAL_USERS' AND :userRole = 'USER') OR " +
            "(n.targetUserType = 'ACTIVITY_OWNERS' AND :userRole = 'TRAVEL_ACTIVITY_OWNER') OR " +
            "(n.targetUserType = 'SPECIFIC_USER' AND n.targetUserId = :userId)) " +
            "AND n.isActive = true " +
            "AND (n.expiresAt IS NULL OR n.expiresAt > :currentTime) " +
+           "AND (w.readUpToId IS NULL OR n.id > w.readUpToId) " +
            "AND (uns.isRead IS NULL OR uns.isRead = false)")
     Long countUnreadNotificationsForUser(
             @Param("userId") Integer userId, 
             @Param("userRole") String userRole, 
             @Param("currentTime") LocalDateTime currentTime);
 
+    // Find every active, unexpired notification regardless of audience
+    @Query("SELECT n FROM Notification n WHERE n.isActive = true " +
+           "AND (n.expiresAt IS NULL OR n.expiresAt > :currentTime)")
+    List<Notification> findActiveNotifications(@Param("currentTime") LocalDateTime currentTime);
+
+    // Highest notification ID so far, used as a user's read watermark
+    @Query("SELECT MAX(n.id) FROM Notification n")
+    Long findMaxId();
+
     // Find all active notifications for admin management
     Page<Notification> findAllByIsActiveTrueOrderByCreatedAtDesc(Pageable pageable);
 
@@ -69,6 +84,26 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
     @Query("SELECT n FROM Notification n WHERE n.expiresAt IS NOT NULL AND n.expiresAt <= :currentTime AND n.isActive = true")
     List<Notification> findExpiredNotifications(@Param("currentTime") LocalDateTime currentTime);
 
+    // IDs of the next chunk of active notifications that have expired
+    @Query("SELECT n.id FROM Notification n WHERE n.isActive = true AND n.expiresAt IS NOT NULL " +
+           "AND n.expiresAt <= :currentTime ORDER BY n.id")
+    List<Long> findExpiredIds(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notification n SET n.isActive = false WHERE n.id IN :ids AND n.isActive = true")
+    int deactivateByIds(@Param("ids") Collection<Long> ids);
+
+    // IDs of the next chunk of inactive notifications that expired or were created before the cutoff
+    @Query("SELECT n.id FROM Notification n WHERE n.isActive = false " +
+           "AND COALESCE(n.expiresAt, n.createdAt) < :cutoff ORDER BY n.id")
+    List<Long> findPurgeableIds(@Param("cutoff") LocalDateTime cutoff, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.id IN :ids")
+    int deleteByIds(@Param("ids") Collection<Long> ids);
+
     // Find notifications by creator
     List<Notification> findByCreatedByOrderByCreatedAtDesc(User createdBy);
 }
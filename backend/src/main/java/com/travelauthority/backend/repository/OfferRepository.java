@@ -2,6 +2,7 @@ package com.travelauthority.backend.repository;
 
 import com.travelauthority.backend.entity.Offer;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,6 +13,10 @@ public interface OfferRepository extends JpaRepository<Offer, Integer> {
     List<Offer> findByCreatedBy(String createdBy);
     List<Offer> findBySelectedForHomepageTrue();
     
+    // Active offers with their selected packages in one query (offer index rebuild)
+    @Query("SELECT DISTINCT o FROM Offer o LEFT JOIN FETCH o.selectedPackages WHERE o.active = true")
+    List<Offer> findActiveWithPackages();
+    
     // Count offers by creator
     long countByCreatedBy(String createdBy);
     
@@ -0,0 +1,48 @@
+package com.travelauthority.backend.repository;
+
+import com.travelauthority.backend.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Lock the next due events; rows locked by another dispatcher are skipped rather than waited on.
+    // PROCESSING rows are due again once their lease ran out, e.g. after a crash mid-batch
+    @Query(value = "SELECT * FROM outbox_events WHERE status IN ('PENDING', 'PROCESSING') " +
+                   "AND available_at <= :currentTime ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<OutboxEvent> lockDueEvents(@Param("currentTime") LocalDateTime currentTime, @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = 'PROCESSING', e.availableAt = :leaseUntil WHERE e.id IN :ids")
+    int claim(@Param("ids") Collection<Long> ids, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = 'DONE', e.processedAt = :currentTime, e.lastError = NULL WHERE e.id = :id")
+    int markDone(@Param("id") Long id, @Param("currentTime") LocalDateTime currentTime);
+
+    // Record a failed attempt; status is PENDING to retry at availableAt, or FAILED to give up
+    @Modifying
+    @Transactional
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.attempts = e.attempts + 1, e.lastError = :error, " +
+           "e.availableAt = :availableAt WHERE e.id = :id")
+    int markFailed(@Param("id") Long id,
+                   @Param("status") OutboxEvent.Status status,
+                   @Param("error") String error,
+                   @Param("availableAt") LocalDateTime availableAt);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = 'DONE' AND e.processedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -8,12 +8,17 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface PackageRepository extends JpaRepository<Package, Long> {
     List<Package> findByActivityId(Integer activityId);
     
+    // Load several packages with their features in one query
+    @Query("SELECT DISTINCT p FROM Package p LEFT JOIN FETCH p.features WHERE p.id IN :ids")
+    List<Package> findAllWithFeaturesByIdIn(@Param("ids") Collection<Long> ids);
+    
     @Modifying
     @Transactional
     @Query("DELETE FROM Package p WHERE p.activity.id = :activityId")
@@ -0,0 +1,38 @@
+package com.travelauthority.backend.repository;
+
+import com.travelauthority.backend.entity.SeatHold;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface SeatHoldRepository extends JpaRepository<SeatHold, String> {
+
+    // Unexpired holds of a user, for the per-user cap
+    long countByUserEmailAndExpiresAtAfter(String userEmail, LocalDateTime currentTime);
+
+    @Query("SELECT h.id FROM SeatHold h WHERE h.expiresAt <= :currentTime ORDER BY h.expiresAt")
+    List<String> findExpiredIds(@Param("currentTime") LocalDateTime currentTime, Pageable pageable);
+
+    // The delete statements below each remove at most one row and return 0 when another
+    // caller got there first, so the hold's seats are handed on or given back exactly once
+
+    // Turn a live hold into a booking; the delete rolls back with the booking transaction
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id AND h.expiresAt > :currentTime")
+    int claim(@Param("id") String id, @Param("currentTime") LocalDateTime currentTime);
+
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id")
+    int release(@Param("id") String id);
+
+    @Modifying
+    @Query("DELETE FROM SeatHold h WHERE h.id = :id AND h.expiresAt <= :currentTime")
+    int expire(@Param("id") String id, @Param("currentTime") LocalDateTime currentTime);
+}
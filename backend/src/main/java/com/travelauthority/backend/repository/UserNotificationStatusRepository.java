@@ -4,12 +4,16 @@ import com.travelauthority.backend.entity.Notification;
 import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.entity.UserNotificationStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface UserNotificationStatusRepository extends JpaRepository<UserNotificationStatus, Long> {
@@ -30,4 +34,21 @@ public interface UserNotificationStatusRepository extends JpaRepository<UserNoti
     // Count read notifications for a user
     @Query("SELECT COUNT(uns) FROM UserNotificationStatus uns WHERE uns.user.id = :userId AND uns.isRead = true")
     Long countReadNotificationsByUser(@Param("userId") Integer userId);
+
+    // IDs among the given notifications the user has read individually
+    @Query("SELECT uns.notification.id FROM UserNotificationStatus uns " +
+           "WHERE uns.user.id = :userId AND uns.isRead = true AND uns.notification.id IN :notificationIds")
+    Set<Long> findReadNotificationIds(@Param("userId") Integer userId,
+                                      @Param("notificationIds") Collection<Long> notificationIds);
+
+    // Drop the user's status rows covered by their read watermark
+    @Modifying
+    @Query("DELETE FROM UserNotificationStatus uns WHERE uns.user.id = :userId AND uns.notification.id <= :readUpToId")
+    int deleteUpTo(@Param("userId") Integer userId, @Param("readUpToId") Long readUpToId);
+
+    // Delete the status rows of notifications that are about to be purged
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserNotificationStatus uns WHERE uns.notification.id IN :notificationIds")
+    int deleteByNotificationIds(@Param("notificationIds") Collection<Long> notificationIds);
 }
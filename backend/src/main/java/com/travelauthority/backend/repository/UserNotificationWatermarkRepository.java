@@ -0,0 +1,30 @@
+package com.travelauthority.backend.repository;
+
+import com.travelauthority.backend.entity.UserNotificationWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface UserNotificationWatermarkRepository extends JpaRepository<UserNotificationWatermark, Integer> {
+
+    // Highest notification ID the user has read everything up to
+    @Query("SELECT w.readUpToId FROM UserNotificationWatermark w WHERE w.userId = :userId")
+    Optional<Long> findReadUpToId(@Param("userId") Integer userId);
+
+    // Move the user's mark forward, creating it on first use; never moves it back
+    @Modifying
+    @Query(value = "INSERT INTO user_notification_watermarks (user_id, read_up_to_id, updated_at) " +
+                   "VALUES (:userId, :readUpToId, :currentTime) " +
+                   "ON DUPLICATE KEY UPDATE read_up_to_id = GREATEST(read_up_to_id, :readUpToId), " +
+                   "updated_at = :currentTime",
+           nativeQuery = true)
+    int advance(@Param("userId") Integer userId,
+                @Param("readUpToId") Long readUpToId,
+                @Param("currentTime") LocalDateTime currentTime);
+}
@@ -1,7 +1,12 @@
 package com.travelauthority.backend.repository;
 
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
 import java.util.List;
 
@@ -11,10 +16,24 @@ import com.travelauthority.backend.entity.User.Role;
 public interface UserRepository extends JpaRepository<User, Integer> {
     // Authentication related methods
     Optional<User> findByEmail(String email);
+    
+    // Lock a user's row so per-user limits can be checked and taken without racing
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.email = :email")
+    Optional<User> lockByEmail(@Param("email") String email);
     boolean existsByEmail(String email);
     boolean existsByNic(String nic);
     boolean existsByPhoneNumber(String phoneNumber);
     
     // Admin-related methods
     List<User> findByRole(Role role);
+    
+    // Token revocation: empty if the user no longer exists, 0 if nothing was ever revoked
+    @Query("SELECT COALESCE(u.tokensValidAfter, 0L) FROM User u WHERE u.id = :id")
+    Optional<Long> findTokensValidAfter(@Param("id") Integer id);
+    
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.tokensValidAfter = :validAfter WHERE u.id = :id")
+    int revokeTokens(@Param("id") Integer id, @Param("validAfter") long validAfter);
 }
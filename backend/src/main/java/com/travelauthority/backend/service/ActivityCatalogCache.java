@@ -0,0 +1,201 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.CacheStatsDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of built activity DTOs for the public catalog endpoints.
+ * Entries expire after a TTL and the least recently used entry is dropped once the
+ * cache is full. Concurrent misses on the same key share a single load, so a traffic
+ * spike on a cold key runs the catalog queries once.
+ * Cached DTOs are shared between requests and must not be modified.
+ */
+@Component
+@Slf4j
+public class ActivityCatalogCache {
+
+    private static final String ALL_KEY = "all";
+    private static final String ACTIVE_KEY = "active";
+
+    private final long ttlMillis;
+    private final int maxEntries;
+    private final Map<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ActivityCatalogCache(@Value("${activity.catalog.cache.ttl-seconds:300}") long ttlSeconds,
+                                @Value("${activity.catalog.cache.max-entries:500}") int maxEntries) {
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.maxEntries = maxEntries;
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.entries = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ActivityCatalogCache.this.maxEntries) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    public static String allKey() {
+        return ALL_KEY;
+    }
+
+    public static String activeKey() {
+        return ACTIVE_KEY;
+    }
+
+    public static String ownerKey(String ownerEmail) {
+        return "owner:" + ownerEmail;
+    }
+
+    public static String ownerActiveKey(String ownerEmail) {
+        return "owner-active:" + ownerEmail;
+    }
+
+    public static String activityKey(int activityId) {
+        return "activity:" + activityId;
+    }
+
+    /**
+     * Return the cached value for a key, loading it with the given loader on a miss.
+     * A loader that throws leaves nothing cached.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key, Supplier<T> loader) {
+        long now = System.currentTimeMillis();
+        Entry entry;
+        boolean load = false;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || entry.expiresAt <= now) {
+                entry = new Entry(now + ttlMillis);
+                entries.put(key, entry);
+                load = true;
+            }
+        }
+
+        if (load) {
+            misses.increment();
+            try {
+                entry.value.complete(loader.get());
+            } catch (RuntimeException e) {
+                entry.value.completeExceptionally(e);
+                remove(key, entry);
+                throw e;
+            }
+        } else {
+            hits.increment();
+        }
+
+        try {
+            return (T) entry.value.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drop everything an activity change can affect: the activity itself, the global lists and
+     * the lists of the given owners. Evicts now and again after the current transaction commits,
+     * so a reload racing with the change cannot leave pre-commit data behind.
+     */
+    public void invalidateActivity(Integer activityId, String... ownerEmails) {
+        List<String> keys = new ArrayList<>();
+        keys.add(ALL_KEY);
+        keys.add(ACTIVE_KEY);
+        if (activityId != null) {
+            keys.add(activityKey(activityId));
+        }
+        for (String ownerEmail : ownerEmails) {
+            if (ownerEmail != null) {
+                keys.add(ownerKey(ownerEmail));
+                keys.add(ownerActiveKey(ownerEmail));
+            }
+        }
+        evictNowAndAfterCommit(() -> {
+            synchronized (entries) {
+                keys.forEach(entries::remove);
+            }
+        });
+    }
+
+    public void clear() {
+        evictNowAndAfterCommit(() -> {
+            synchronized (entries) {
+                entries.clear();
+            }
+        });
+    }
+
+    public CacheStatsDTO getStats() {
+        int size;
+        synchronized (entries) {
+            size = entries.size();
+        }
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long lookups = hitCount + missCount;
+        return CacheStatsDTO.builder()
+                .name("activityCatalog")
+                .size(size)
+                .maxSize(maxEntries)
+                .ttlSeconds(TimeUnit.MILLISECONDS.toSeconds(ttlMillis))
+                .hits(hitCount)
+                .misses(missCount)
+                .evictions(evictions.sum())
+                .hitRate(lookups > 0 ? (double) hitCount / lookups : 0.0)
+                .build();
+    }
+
+    private void evictNowAndAfterCommit(Runnable eviction) {
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    private void remove(String key, Entry entry) {
+        synchronized (entries) {
+            if (entries.get(key) == entry) {
+                entries.remove(key);
+            }
+        }
+    }
+
+    private static class Entry {
+        private final CompletableFuture<Object> value = new CompletableFuture<>();
+        private final long expiresAt;
+
+        Entry(long expiresAt) {
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.travelauthority.backend.service;
 
 import com.travelauthority.backend.dto.ActivityDTO;
+import com.travelauthority.backend.dto.CacheStatsDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 
 import java.util.List;
@@ -15,4 +16,5 @@ public interface ActivityService {
     ResponseDTO<ActivityDTO> updateActivity(int id, ActivityDTO activityDTO);
     ResponseDTO<Void> deleteActivity(int id);
     ResponseDTO<Void> deleteAllActivities();
+    ResponseDTO<CacheStatsDTO> getCatalogCacheStats();
 }
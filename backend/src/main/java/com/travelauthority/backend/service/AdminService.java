@@ -1,14 +1,15 @@
 package com.travelauthority.backend.service;
 
+import com.travelauthority.backend.dto.AuthPrincipal;
 import com.travelauthority.backend.dto.ResponseDTO;
 
 public interface AdminService {
     /**
      * Get dashboard data for admin users
-     * @param token Authentication token
+     * @param principal Caller resolved from the request token, or null
      * @return ResponseDTO with dashboard data
      */
-    ResponseDTO getDashboardData(String token);
+    ResponseDTO getDashboardData(AuthPrincipal principal);
     
     /**
      * Update a user's role
@@ -20,22 +21,22 @@ public interface AdminService {
     
     /**
      * Check if a user has admin access
-     * @param token Authentication token
+     * @param principal Caller resolved from the request token, or null
      * @return ResponseDTO with access status
      */
-    ResponseDTO checkAdminAccess(String token);
+    ResponseDTO checkAdminAccess(AuthPrincipal principal);
     
     /**
      * Check if a user has travel activity owner access
-     * @param token Authentication token
+     * @param principal Caller resolved from the request token, or null
      * @return ResponseDTO with access status
      */
-    ResponseDTO checkTravelActivityOwnerAccess(String token);
+    ResponseDTO checkTravelActivityOwnerAccess(AuthPrincipal principal);
     
     /**
      * Get dashboard data for travel activity owner users
-     * @param token Authentication token
+     * @param principal Caller resolved from the request token, or null
      * @return ResponseDTO with dashboard data
      */
-    ResponseDTO getTravelOwnerDashboardData(String token);
+    ResponseDTO getTravelOwnerDashboardData(AuthPrincipal principal);
 }
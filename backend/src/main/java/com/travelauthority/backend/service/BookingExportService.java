@@ -0,0 +1,153 @@
+package com.travelauthority.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Writes bookings straight from a database cursor to an output stream as CSV or
+ * newline-delimited JSON. Rows are detached once written and the persistence context
+ * is cleared periodically, so memory stays flat however many bookings are exported.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final int CLEAR_EVERY_ROWS = 1000;
+
+    private static final String[] COLUMNS = {
+            "id", "orderNumber", "status", "bookingTime", "bookingDate", "activityId", "title", "location",
+            "packageId", "packageName", "totalPersons", "basePrice", "serviceFee", "tax", "totalPrice",
+            "paymentMethod", "hasDiscount", "discountPercentage", "offerTitle",
+            "userEmail", "userName", "contactEmail", "contactPhone"
+    };
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Export every booking. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportAllBookings(Format format, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamAllForExport()) {
+            return write(bookings, format, out);
+        }
+    }
+
+    /**
+     * Export the bookings of activities created by an owner. Returns the number of rows written.
+     */
+    @Transactional(readOnly = true)
+    public long exportBookingsByActivityOwner(String ownerEmail, Format format, OutputStream out) throws IOException {
+        try (Stream<Booking> bookings = bookingRepository.streamByActivityOwnerForExport(ownerEmail)) {
+            return write(bookings, format, out);
+        }
+    }
+
+    private long write(Stream<Booking> bookings, Format format, OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == Format.CSV) {
+            writeCsvLine(writer, COLUMNS);
+        }
+
+        long rows = 0;
+        Iterator<Booking> iterator = bookings.iterator();
+        while (iterator.hasNext()) {
+            Booking booking = iterator.next();
+            Map<String, Object> row = toRow(booking);
+            if (format == Format.CSV) {
+                writeCsvLine(writer, row.values().toArray());
+            } else {
+                writer.write(objectMapper.writeValueAsString(row));
+                writer.write('\n');
+            }
+
+            entityManager.detach(booking);
+            if (++rows % CLEAR_EVERY_ROWS == 0) {
+                // Drop the users fetched with the rows too
+                entityManager.clear();
+            }
+        }
+        writer.flush();
+
+        log.info("Exported {} bookings as {} in {} ms", rows, format, System.currentTimeMillis() - start);
+        return rows;
+    }
+
+    private Map<String, Object> toRow(Booking booking) {
+        User user = booking.getUser();
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", booking.getId());
+        row.put("orderNumber", booking.getOrderNumber());
+        row.put("status", booking.getStatus());
+        row.put("bookingTime", booking.getBookingTime() != null ? booking.getBookingTime().toString() : null);
+        row.put("bookingDate", booking.getBookingDate());
+        row.put("activityId", booking.getActivityId());
+        row.put("title", booking.getTitle());
+        row.put("location", booking.getLocation());
+        row.put("packageId", booking.getPackageId());
+        row.put("packageName", booking.getPackageName());
+        row.put("totalPersons", booking.getTotalPersons());
+        row.put("basePrice", booking.getBasePrice());
+        row.put("serviceFee", booking.getServiceFee());
+        row.put("tax", booking.getTax());
+        row.put("totalPrice", booking.getTotalPrice());
+        row.put("paymentMethod", booking.getPaymentMethod());
+        row.put("hasDiscount", booking.getHasDiscount());
+        row.put("discountPercentage", booking.getDiscountPercentage());
+        row.put("offerTitle", booking.getOfferTitle());
+        row.put("userEmail", user != null ? user.getEmail() : null);
+        row.put("userName", user != null ? user.getFirstName() + " " + user.getLastName() : null);
+        row.put("contactEmail", booking.getContactEmail());
+        row.put("contactPhone", booking.getContactPhone());
+        return row;
+    }
+
+    private void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    private String escapeCsv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        // Customer-supplied text a spreadsheet would run as a formula is kept as text
+        if (value instanceof String && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            return "\"'" + text.replace("\"", "\"\"") + "\"";
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return "\"" + text.replace("\"", "\"\"") + "\"";
+        }
+        return text;
+    }
+}
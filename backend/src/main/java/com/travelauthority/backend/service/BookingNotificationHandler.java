@@ -0,0 +1,37 @@
+package com.travelauthority.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.dto.BookingEventDTO;
+import com.travelauthority.backend.entity.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sends the user's payment success and booking confirmation notifications for booking
+ * outbox events.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingNotificationHandler implements OutboxEventHandler {
+
+    private final NotificationService notificationService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public boolean supports(OutboxEvent.EventType eventType) {
+        return eventType == OutboxEvent.EventType.BOOKING_CREATED
+                || eventType == OutboxEvent.EventType.BOOKING_CONFIRMED;
+    }
+
+    @Override
+    public void handle(OutboxEvent event) throws Exception {
+        BookingEventDTO booking = objectMapper.readValue(event.getPayload(), BookingEventDTO.class);
+        if (event.getEventType() == OutboxEvent.EventType.BOOKING_CREATED) {
+            notificationService.createPaymentSuccessNotification(
+                    booking.getUserId(), booking.getActivityTitle(), booking.getBookingId(), booking.getTotalPrice());
+        } else {
+            notificationService.createBookingConfirmationNotification(
+                    booking.getUserId(), booking.getActivityTitle(), booking.getBookingId());
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.Activity;
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.BookingOccupancy;
+import com.travelauthority.backend.entity.Package;
+import com.travelauthority.backend.repository.ActivityRepository;
+import com.travelauthority.backend.repository.BookingOccupancyRepository;
+import com.travelauthority.backend.repository.PackageRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Keeps the booking_occupancy counters in step with the bookings table so that
+ * availability checks read a single row instead of summing every booking.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BookingOccupancyService {
+
+    private final BookingOccupancyRepository occupancyRepository;
+    private final ActivityRepository activityRepository;
+    private final PackageRepository packageRepository;
+
+    /**
+     * Number of people booked for a slot. A null package ID returns the activity-wide count.
+     */
+    public int getBookedCount(Integer activityId, Long packageId, String bookingDate) {
+        long slotPackageId = packageId != null ? packageId : BookingOccupancy.ACTIVITY_TOTAL;
+        return occupancyRepository.findBookedCount(activityId, slotPackageId, bookingDate).orElse(0);
+    }
+
+    /**
+     * All counters of an activity between two dates (inclusive) in one query.
+     */
+    public List<BookingOccupancy> getSlots(Integer activityId, String fromDate, String toDate) {
+        return occupancyRepository.findByActivityIdAndBookingDateBetween(activityId, fromDate, toDate);
+    }
+
+    /**
+     * Seats a single slot can hold: the package's availability when a package is given,
+     * otherwise the activity's. A package booking is limited by its package alone, the
+     * same rule the availability check and the calendar apply.
+     */
+    public int getCapacity(Integer activityId, Long packageId) {
+        if (packageId != null) {
+            Package pkg = packageRepository.findById(packageId)
+                    .orElseThrow(() -> new RuntimeException("Package not found"));
+            return pkg.getAvailability() != null ? pkg.getAvailability() : 0;
+        }
+        Activity activity = activityRepository.findById(activityId)
+                .orElseThrow(() -> new RuntimeException("Activity not found"));
+        return activity.getAvailability();
+    }
+
+    /**
+     * Atomically take seats for a slot. A package booking is checked against the package's
+     * availability only; an activity booking without a package against the activity's.
+     * The activity-wide row is always counted so it keeps the total for the date. Each slot
+     * row is locked exclusively first and then taken with a conditional UPDATE, so
+     * concurrent callers queue on the row instead of deadlocking and can never push a slot
+     * past its capacity.
+     *
+     * @return true if the seats were taken, false if the slot does not have enough room
+     */
+    @Transactional
+    public boolean tryReserve(Integer activityId, Long packageId, String bookingDate, int count) {
+        int capacity = getCapacity(activityId, packageId);
+
+        // Always lock the activity row before the package row to keep the lock order stable
+        occupancyRepository.lockSlot(activityId, BookingOccupancy.ACTIVITY_TOTAL, bookingDate);
+        if (packageId == null) {
+            return occupancyRepository.reserveIfAvailable(activityId, BookingOccupancy.ACTIVITY_TOTAL,
+                    bookingDate, count, capacity) > 0;
+        }
+
+        occupancyRepository.lockSlot(activityId, packageId, bookingDate);
+        if (occupancyRepository.reserveIfAvailable(activityId, packageId, bookingDate, count, capacity) == 0) {
+            return false;
+        }
+        occupancyRepository.adjustBookedCount(activityId, BookingOccupancy.ACTIVITY_TOTAL, bookingDate, count);
+        return true;
+    }
+
+    /**
+     * Give back seats taken with tryReserve that never turned into a booking.
+     */
+    @Transactional
+    public void releaseSeats(Integer activityId, Long packageId, String bookingDate, int count) {
+        adjust(activityId, packageId, bookingDate, -count);
+    }
+
+    @Transactional
+    public void releaseBooking(Booking booking) {
+        adjust(booking.getActivityId(), booking.getPackageId(), booking.getBookingDate(), -booking.getTotalPersons());
+    }
+
+    /**
+     * Apply a status transition: cancelling frees the seats, un-cancelling takes them back
+     * through tryReserve, since the slot may have filled up in the meantime.
+     *
+     * @throws RuntimeException if an un-cancelled booking no longer fits in its slot
+     */
+    @Transactional
+    public void onStatusChange(Booking booking, Booking.BookingStatus previousStatus) {
+        boolean wasCounted = previousStatus != Booking.BookingStatus.CANCELLED;
+        boolean isCounted = booking.getStatus() != Booking.BookingStatus.CANCELLED;
+
+        if (wasCounted && !isCounted) {
+            releaseBooking(booking);
+        } else if (!wasCounted && isCounted && !tryReserve(booking.getActivityId(), booking.getPackageId(),
+                booking.getBookingDate(), booking.getTotalPersons())) {
+            throw new RuntimeException("Not enough availability left to restore this cancelled booking");
+        }
+    }
+
+    /**
+     * Fill the counters when the table is empty, e.g. on the first start after the table was
+     * added. Existing counters are left alone: seat holds are stored in seat_holds, so their
+     * seats are still accounted for after a restart and are given back by the hold sweep.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void initialize() {
+        if (occupancyRepository.count() == 0) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Recompute every counter from the non-cancelled bookings plus the seats of every
+     * outstanding seat hold, including expired holds the sweep has not released yet. For an
+     * explicit reconcile after bookings were changed outside the application.
+     */
+    @Transactional
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        occupancyRepository.deleteAllSlots();
+        int packageSlots = occupancyRepository.rebuildPackageSlots();
+        int activitySlots = occupancyRepository.rebuildActivitySlots();
+        log.info("Rebuilt booking occupancy: {} package slots, {} activity slots in {} ms",
+                packageSlots, activitySlots, System.currentTimeMillis() - start);
+    }
+
+    private void adjust(Integer activityId, Long packageId, String bookingDate, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        occupancyRepository.adjustBookedCount(activityId, BookingOccupancy.ACTIVITY_TOTAL, bookingDate, delta);
+        if (packageId != null) {
+            occupancyRepository.adjustBookedCount(activityId, packageId, bookingDate, delta);
+        }
+    }
+}
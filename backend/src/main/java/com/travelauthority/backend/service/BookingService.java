@@ -3,26 +3,40 @@ package com.travelauthority.backend.service;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.travelauthority.backend.dto.AvailabilityCheckRequestDTO;
 import com.travelauthority.backend.dto.AvailabilityCheckResponseDTO;
+import com.travelauthority.backend.dto.BookingPageDTO;
+import com.travelauthority.backend.dto.BookingPageRequestDTO;
 import com.travelauthority.backend.dto.BookingRequestDTO;
 import com.travelauthority.backend.dto.BookingResponseDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
+import com.travelauthority.backend.dto.BookingEventDTO;
 import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.OutboxEvent;
 import com.travelauthority.backend.entity.Package;
 import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.event.DashboardChangedEvent;
+import com.travelauthority.backend.repository.ActivityRepository;
 import com.travelauthority.backend.repository.BookingRepository;
 import com.travelauthority.backend.repository.PackageRepository;
 import com.travelauthority.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -30,46 +44,53 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingService {
     
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final ActivityRepository activityRepository;
     private final PackageRepository packageRepository;
+    private final BookingOccupancyService occupancyService;
+    private final SeatHoldService seatHoldService;
+    private final IdGenerator idGenerator;
     private final ObjectMapper objectMapper;
+    private final OutboxService outboxService;
+    private final ApplicationEventPublisher eventPublisher;
     
     @Autowired
     private AvailabilityService availabilityService;
     
     @Transactional
-    public BookingResponseDTO createBooking(BookingRequestDTO request, String userEmail) {
+    public BookingResponseDTO createBooking(BookingRequestDTO request, User user) {
         try {
-            // Check availability before creating a booking
-            AvailabilityCheckRequestDTO availabilityRequest = new AvailabilityCheckRequestDTO();
-            availabilityRequest.setActivityId(request.getActivityId());
-            availabilityRequest.setDate(request.getBookingDate());
-            availabilityRequest.setRequestedCount(request.getTotalPersons());
-            
-            ResponseDTO<AvailabilityCheckResponseDTO> availabilityResponse = 
-                    availabilityService.checkAvailability(availabilityRequest);
-            
-            if (!availabilityResponse.getSuccess() || !availabilityResponse.getData().isAvailable()) {
-                String errorMessage = "Unable to create booking: ";
-                if (availabilityResponse.getData() != null && availabilityResponse.getData().getMessage() != null) {
-                    errorMessage += availabilityResponse.getData().getMessage();
-                } else {
-                    errorMessage += "Not enough availability for the selected date";
+            // A seat hold already counts against availability, so only check when there is none
+            if (request.getHoldId() == null) {
+                AvailabilityCheckRequestDTO availabilityRequest = new AvailabilityCheckRequestDTO();
+                availabilityRequest.setActivityId(request.getActivityId());
+                availabilityRequest.setPackageId(request.getPackageId());
+                availabilityRequest.setDate(request.getBookingDate());
+                availabilityRequest.setRequestedCount(request.getTotalPersons());
+            
+                ResponseDTO<AvailabilityCheckResponseDTO> availabilityResponse = 
+                        availabilityService.checkAvailability(availabilityRequest);
+            
+                if (!availabilityResponse.getSuccess() || !availabilityResponse.getData().isAvailable()) {
+                    String errorMessage = "Unable to create booking: ";
+                    if (availabilityResponse.getData() != null && availabilityResponse.getData().getMessage() != null) {
+                        errorMessage += availabilityResponse.getData().getMessage();
+                    } else {
+                        errorMessage += "Not enough availability for the selected date";
+                    }
+                    throw new RuntimeException(errorMessage);
                 }
-                throw new RuntimeException(errorMessage);
             }
             
-            // Find the user
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
-            // Generate unique booking ID and order number
-            String bookingId = "TICK-" + System.currentTimeMillis();
-            String orderNumber = "ORD-" + System.currentTimeMillis();
-            
-            // Convert people counts to JSON string
-            String peopleCountsJson = objectMapper.writeValueAsString(request.getPeopleCounts());
+            // Generate unique booking ID and order number from one time-ordered ID,
+            // zero-padded so the strings sort in creation order
+            long uniqueId = idGenerator.nextId();
+            String bookingId = String.format("TICK-%019d", uniqueId);
+            String orderNumber = String.format("ORD-%019d", uniqueId);
             
             // Generate QR code data
             String qrCodeData = generateQRCodeData(bookingId, request.getActivityTitle(), 
@@ -95,7 +116,7 @@ public class BookingService {
                     .packageId(request.getPackageId())
                     .packageName(request.getPackageName())
                     .activityId(request.getActivityId())
-                    .peopleCounts(peopleCountsJson)
+                    .peopleCounts(request.getPeopleCounts())
                     .description(request.getDescription())
                     .hasDiscount(request.getHasDiscount())
                     .discountPercentage(request.getDiscountPercentage())
@@ -110,23 +131,26 @@ public class BookingService {
                     .qrCodeData(qrCodeData)
                     .build();
             
+            if (request.getHoldId() != null) {
+                // The held seats become the booking's seats
+                seatHoldService.claimHold(request.getHoldId(), user.getEmail(), request.getActivityId(),
+                        request.getPackageId(), request.getBookingDate(), request.getTotalPersons());
+            } else if (!occupancyService.tryReserve(request.getActivityId(), request.getPackageId(),
+                    request.getBookingDate(), request.getTotalPersons())) {
+                // Take the seats atomically; the check above is only a fast pre-check and
+                // another buyer may have taken the last seats since then
+                throw new RuntimeException("Unable to create booking: Not enough availability for the selected date");
+            }
+            
             // Save booking
             Booking savedBooking = bookingRepository.save(booking);
+            eventPublisher.publishEvent(DashboardChangedEvent.bookingAdded(savedBooking));
 
             log.info("Booking created successfully: {}", savedBooking.getId());
 
-            // --- Create notification for payment success ---
-            try {
-                NotificationService notificationService = ApplicationContextProvider.getBean(NotificationService.class);
-                notificationService.createPaymentSuccessNotification(
-                    savedBooking.getUser().getId(),
-                    savedBooking.getTitle(),
-                    savedBooking.getId(),
-                    savedBooking.getTotalPrice()
-                );
-            } catch (Exception ex) {
-                log.warn("Failed to create payment success notification: {}", ex.getMessage());
-            }
+            // Payment success notification is sent by the outbox dispatcher after commit
+            outboxService.publish(OutboxEvent.EventType.BOOKING_CREATED, savedBooking.getId(),
+                    toBookingEvent(savedBooking));
 
             return convertToResponseDTO(savedBooking);
 
@@ -136,34 +160,21 @@ public class BookingService {
         }
     }
     
-    public List<BookingResponseDTO> getUserBookings(String userEmail) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public List<BookingResponseDTO> getUserBookings(User user) {
         List<Booking> bookings = bookingRepository.findByUserOrderByBookingTimeDesc(user);
-        return bookings.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(bookings);
     }
     
-    public List<BookingResponseDTO> getUserBookingsByStatus(String userEmail, Booking.BookingStatus status) {
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    public List<BookingResponseDTO> getUserBookingsByStatus(User user, Booking.BookingStatus status) {
         List<Booking> bookings = bookingRepository.findByUserAndStatusOrderByBookingTimeDesc(user, status);
-        return bookings.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(bookings);
     }
     
-    public Optional<BookingResponseDTO> getBookingById(String bookingId, String userEmail) {
+    public Optional<BookingResponseDTO> getBookingById(String bookingId, User user) {
         Optional<Booking> booking = bookingRepository.findById(bookingId);
         
         if (booking.isPresent()) {
             // Check if the booking belongs to the user (unless it's an admin)
-            User user = userRepository.findByEmail(userEmail)
-                    .orElseThrow(() -> new RuntimeException("User not found"));
-            
             if (!user.isAdmin() && !booking.get().getUser().getId().equals(user.getId())) {
                 throw new RuntimeException("Access denied: Booking does not belong to user");
             }
@@ -175,14 +186,11 @@ public class BookingService {
     }
     
     @Transactional
-    public BookingResponseDTO updateBookingStatus(String bookingId, Booking.BookingStatus status, String userEmail) {
+    public BookingResponseDTO updateBookingStatus(String bookingId, Booking.BookingStatus status, User user) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
         
         // Check permissions
-        User user = userRepository.findByEmail(userEmail)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
         if (!user.isAdmin() && !booking.getUser().getId().equals(user.getId())) {
             throw new RuntimeException("Access denied: Cannot modify booking");
         }
@@ -201,8 +209,7 @@ public class BookingService {
             }
         }
 
-        booking.setStatus(status);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = changeStatus(booking, status);
         
         log.info("Booking status updated: {} -> {}", bookingId, status);
         
@@ -214,23 +221,14 @@ public class BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
 
-        booking.setStatus(status);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = changeStatus(booking, status);
 
         log.info("Booking status updated by admin: {} -> {}", bookingId, status);
 
-        // --- Create notification for booking confirmation ---
+        // Booking confirmation notification is sent by the outbox dispatcher after commit
         if (status == Booking.BookingStatus.CONFIRMED) {
-            try {
-                NotificationService notificationService = ApplicationContextProvider.getBean(NotificationService.class);
-                notificationService.createBookingConfirmationNotification(
-                    updatedBooking.getUser().getId(),
-                    updatedBooking.getTitle(),
-                    updatedBooking.getId()
-                );
-            } catch (Exception ex) {
-                log.warn("Failed to create booking confirmation notification: {}", ex.getMessage());
-            }
+            outboxService.publish(OutboxEvent.EventType.BOOKING_CONFIRMED, updatedBooking.getId(),
+                    toBookingEvent(updatedBooking));
         }
 
         return convertToResponseDTO(updatedBooking);
@@ -239,9 +237,70 @@ public class BookingService {
     // Admin methods
     public List<BookingResponseDTO> getAllBookings() {
         List<Booking> bookings = bookingRepository.findAll();
-        return bookings.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(bookings);
+    }
+    
+    // Paginated listings, newest first. Pages are keyed on (bookingTime, id) instead of an offset,
+    // so every page is an index range scan no matter how deep the client pages.
+    public BookingPageDTO getUserBookingsPage(User user, BookingPageRequestDTO request) {
+        return findBookingsPage(user.getId(), null, request);
+    }
+    
+    public BookingPageDTO getAllBookingsPage(BookingPageRequestDTO request) {
+        String ownerEmail = request.getOwnerEmail() != null && !request.getOwnerEmail().isEmpty()
+                ? request.getOwnerEmail() : null;
+        return findBookingsPage(null, ownerEmail, request);
+    }
+    
+    // Throws IllegalArgumentException for an unknown status or a malformed cursor
+    private BookingPageDTO findBookingsPage(Integer userId, String ownerEmail, BookingPageRequestDTO request) {
+        int size = request.getSize() != null
+                ? Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE))
+                : DEFAULT_PAGE_SIZE;
+        
+        Booking.BookingStatus status = null;
+        if (request.getStatus() != null && !request.getStatus().isEmpty()) {
+            try {
+                status = Booking.BookingStatus.valueOf(request.getStatus().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Invalid status: " + request.getStatus());
+            }
+        }
+        
+        LocalDateTime cursorTime = null;
+        String cursorId = null;
+        if (request.getCursor() != null && !request.getCursor().isEmpty()) {
+            try {
+                String decoded = new String(Base64.getUrlDecoder().decode(request.getCursor()), StandardCharsets.UTF_8);
+                int separator = decoded.indexOf('|');
+                cursorTime = LocalDateTime.parse(decoded.substring(0, separator));
+                cursorId = decoded.substring(separator + 1);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+        }
+        
+        // Fetch one extra row to know whether another page follows, without a count query
+        List<Booking> bookings = bookingRepository.findPage(userId, ownerEmail, status, request.getActivityId(),
+                request.getFromDate(), request.getToDate(), cursorTime, cursorId, PageRequest.of(0, size + 1));
+        boolean hasMore = bookings.size() > size;
+        if (hasMore) {
+            bookings = bookings.subList(0, size);
+        }
+        
+        String nextCursor = null;
+        if (hasMore) {
+            Booking last = bookings.get(bookings.size() - 1);
+            String key = last.getBookingTime() + "|" + last.getId();
+            nextCursor = Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+        }
+        
+        return BookingPageDTO.builder()
+                .bookings(convertToResponseDTOs(bookings))
+                .size(bookings.size())
+                .hasMore(hasMore)
+                .nextCursor(nextCursor)
+                .build();
     }
     
     public Long getBookingCountByStatus(Booking.BookingStatus status) {
@@ -258,60 +317,107 @@ public class BookingService {
         return revenue != null ? revenue : 0.0;
     }
     
+    // Update the status and keep the occupancy counters in step
+    private Booking changeStatus(Booking booking, Booking.BookingStatus status) {
+        Booking.BookingStatus previousStatus = booking.getStatus();
+        booking.setStatus(status);
+        Booking updatedBooking = bookingRepository.save(booking);
+        occupancyService.onStatusChange(updatedBooking, previousStatus);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(DashboardChangedEvent.bookingStatusChanged(updatedBooking, previousStatus));
+        }
+        return updatedBooking;
+    }
+    
     private BookingResponseDTO convertToResponseDTO(Booking booking) {
-        try {
-            // Convert JSON string back to Map
-            Map<String, Integer> peopleCounts = objectMapper.readValue(
-                    booking.getPeopleCounts(), 
-                    objectMapper.getTypeFactory().constructMapType(Map.class, String.class, Integer.class)
-            );
-            
-            // Fetch package features if package ID exists
-            List<String> packageFeatures = Collections.emptyList();
-            if (booking.getPackageId() != null) {
-                Optional<Package> packageEntity = packageRepository.findById(booking.getPackageId());
-                if (packageEntity.isPresent() && packageEntity.get().getFeatures() != null) {
-                    packageFeatures = packageEntity.get().getFeatures();
+        // Fetch package features if package ID exists
+        List<String> packageFeatures = Collections.emptyList();
+        if (booking.getPackageId() != null) {
+            Optional<Package> packageEntity = packageRepository.findById(booking.getPackageId());
+            if (packageEntity.isPresent() && packageEntity.get().getFeatures() != null) {
+                packageFeatures = packageEntity.get().getFeatures();
+            }
+        }
+        return convertToResponseDTO(booking, packageFeatures, booking.getUser());
+    }
+    
+    private BookingEventDTO toBookingEvent(Booking booking) {
+        return BookingEventDTO.builder()
+                .bookingId(booking.getId())
+                .userId(booking.getUser().getId())
+                .activityTitle(booking.getTitle())
+                .totalPrice(booking.getTotalPrice())
+                .build();
+    }
+    
+    // Convert a list of bookings with one query for all package features and one for all users,
+    // instead of a package and user lookup per booking
+    private List<BookingResponseDTO> convertToResponseDTOs(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        Set<Long> packageIds = bookings.stream()
+                .map(Booking::getPackageId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, List<String>> featuresByPackage = new HashMap<>();
+        if (!packageIds.isEmpty()) {
+            for (Package pkg : packageRepository.findAllWithFeaturesByIdIn(packageIds)) {
+                if (pkg.getFeatures() != null) {
+                    featuresByPackage.put(pkg.getId(), pkg.getFeatures());
                 }
             }
-            
-            return BookingResponseDTO.builder()
-                    .id(booking.getId())
-                    .title(booking.getTitle())
-                    .location(booking.getLocation())
-                    .image(booking.getImage())
-                    .bookingDate(booking.getBookingDate())
-                    .status(booking.getStatus())
-                    .basePrice(booking.getBasePrice())
-                    .serviceFee(booking.getServiceFee())
-                    .tax(booking.getTax())
-                    .totalPrice(booking.getTotalPrice())
-                    .totalPersons(booking.getTotalPersons())
-                    .bookingTime(booking.getBookingTime())
-                    .paymentMethod(booking.getPaymentMethod())
-                    .packageId(booking.getPackageId())
-                    .packageName(booking.getPackageName())
-                    .packageFeatures(packageFeatures)
-                    .activityId(booking.getActivityId())
-                    .peopleCounts(peopleCounts)
-                    .description(booking.getDescription())
-                    .contactEmail(booking.getContactEmail())
-                    .contactPhone(booking.getContactPhone())
-                    .ticketInstructions(booking.getTicketInstructions())
-                    .itinerary(booking.getItinerary())
-                    .cancellationPolicy(booking.getCancellationPolicy())
-                    .orderNumber(booking.getOrderNumber())
-                    .qrCodeData(booking.getQrCodeData())
-                    .userEmail(booking.getUser().getEmail())
-                    .userName(booking.getUser().getFirstName() + " " + booking.getUser().getLastName())
-                    .hasDiscount(booking.getHasDiscount())
-                    .discountPercentage(booking.getDiscountPercentage())
-                    .offerTitle(booking.getOfferTitle())
-                    .build();
-        } catch (Exception e) {
-            log.error("Error converting booking to DTO: ", e);
-            throw new RuntimeException("Error processing booking data");
         }
+        
+        // getId() on the lazy user proxy does not hit the database
+        Set<Integer> userIds = bookings.stream()
+                .map(booking -> booking.getUser().getId())
+                .collect(Collectors.toSet());
+        Map<Integer, User> usersById = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, user -> user));
+        
+        return bookings.stream()
+                .map(booking -> convertToResponseDTO(booking,
+                        featuresByPackage.getOrDefault(booking.getPackageId(), Collections.emptyList()),
+                        usersById.getOrDefault(booking.getUser().getId(), booking.getUser())))
+                .collect(Collectors.toList());
+    }
+    
+    private BookingResponseDTO convertToResponseDTO(Booking booking, List<String> packageFeatures, User user) {
+        return BookingResponseDTO.builder()
+                .id(booking.getId())
+                .title(booking.getTitle())
+                .location(booking.getLocation())
+                .image(booking.getImage())
+                .bookingDate(booking.getBookingDate())
+                .status(booking.getStatus())
+                .basePrice(booking.getBasePrice())
+                .serviceFee(booking.getServiceFee())
+                .tax(booking.getTax())
+                .totalPrice(booking.getTotalPrice())
+                .totalPersons(booking.getTotalPersons())
+                .bookingTime(booking.getBookingTime())
+                .paymentMethod(booking.getPaymentMethod())
+                .packageId(booking.getPackageId())
+                .packageName(booking.getPackageName())
+                .packageFeatures(packageFeatures)
+                .activityId(booking.getActivityId())
+                .peopleCounts(booking.getPeopleCounts())
+                .description(booking.getDescription())
+                .contactEmail(booking.getContactEmail())
+                .contactPhone(booking.getContactPhone())
+                .ticketInstructions(booking.getTicketInstructions())
+                .itinerary(booking.getItinerary())
+                .cancellationPolicy(booking.getCancellationPolicy())
+                .orderNumber(booking.getOrderNumber())
+                .qrCodeData(booking.getQrCodeData())
+                .userEmail(user.getEmail())
+                .userName(user.getFirstName() + " " + user.getLastName())
+                .hasDiscount(booking.getHasDiscount())
+                .discountPercentage(booking.getDiscountPercentage())
+                .offerTitle(booking.getOfferTitle())
+                .build();
     }
     
     private String getDefaultInstructions() {
@@ -470,8 +576,7 @@ public class BookingService {
             }
             
             // Update status to completed
-            booking.setStatus(Booking.BookingStatus.COMPLETED);
-            Booking updatedBooking = bookingRepository.save(booking);
+            Booking updatedBooking = changeStatus(booking, Booking.BookingStatus.COMPLETED);
             
             log.info("Booking {} successfully marked as completed by admin: {}", bookingId, adminEmail);
             
@@ -496,8 +601,12 @@ public class BookingService {
             log.info("Deleting booking details - ID: {}, User: {}, Event: {}, Status: {}", 
                     booking.getId(), booking.getUser().getEmail(), booking.getTitle(), booking.getStatus());
             
-            // Delete the booking
+            // Delete the booking and free its seats
             bookingRepository.delete(booking);
+            if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
+                occupancyService.releaseBooking(booking);
+            }
+            eventPublisher.publishEvent(DashboardChangedEvent.bookingRemoved(booking));
             
             log.info("Booking {} successfully deleted by admin: {}", bookingId, adminEmail);
             
@@ -520,8 +629,11 @@ public class BookingService {
                 return;
             }
             
-            // Delete all bookings
+            // Delete all bookings and recompute the occupancy counters, which keeps the seats
+            // of outstanding holds
             bookingRepository.deleteAll();
+            occupancyService.rebuild();
+            eventPublisher.publishEvent(DashboardChangedEvent.reset());
             
             log.warn("Successfully deleted {} bookings by admin: {}", bookingCount, adminEmail);
             
@@ -534,50 +646,39 @@ public class BookingService {
     // Travel Activity Owner methods
     public List<BookingResponseDTO> getBookingsByActivityOwner(String ownerEmail) {
         List<Booking> bookings = bookingRepository.findBookingsByActivityOwner(ownerEmail);
-        return bookings.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(bookings);
     }
     
     public List<BookingResponseDTO> getBookingsByActivityOwnerAndStatus(String ownerEmail, Booking.BookingStatus status) {
         List<Booking> bookings = bookingRepository.findBookingsByActivityOwnerAndStatus(ownerEmail, status);
-        return bookings.stream()
-                .map(this::convertToResponseDTO)
-                .collect(Collectors.toList());
+        return convertToResponseDTOs(bookings);
     }
     
     @Transactional
-    public BookingResponseDTO updateBookingStatusAsOwner(String bookingId, Booking.BookingStatus status, String ownerEmail) {
+    public BookingResponseDTO updateBookingStatusAsOwner(String bookingId, Booking.BookingStatus status, User owner) {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new RuntimeException("Booking not found"));
         
         // Check if the booking belongs to an activity owned by the user
-        User owner = userRepository.findByEmail(ownerEmail)
-                .orElseThrow(() -> new RuntimeException("Owner not found"));
-        
         if (!owner.isTravelActivityOwner()) {
             throw new RuntimeException("Access denied: User is not a travel activity owner");
         }
         
         // Verify this booking is for an activity owned by this user
-        List<Booking> ownerBookings = bookingRepository.findBookingsByActivityOwner(ownerEmail);
-        boolean isOwnerBooking = ownerBookings.stream()
-                .anyMatch(b -> b.getId().equals(bookingId));
-        
-        if (!isOwnerBooking) {
+        if (!isOwnerBooking(booking, owner)) {
             throw new RuntimeException("Access denied: Booking does not belong to owner's activities");
         }
         
-        booking.setStatus(status);
-        Booking updatedBooking = bookingRepository.save(booking);
+        Booking updatedBooking = changeStatus(booking, status);
         
-        log.info("Booking status updated by owner {}: {} -> {}", ownerEmail, bookingId, status);
+        log.info("Booking status updated by owner {}: {} -> {}", owner.getEmail(), bookingId, status);
         
         return convertToResponseDTO(updatedBooking);
     }
     
     @Transactional
-    public BookingResponseDTO verifyQRCodeAsOwner(String qrCodeData, String ownerEmail) {
+    public BookingResponseDTO verifyQRCodeAsOwner(String qrCodeData, User owner) {
+        String ownerEmail = owner.getEmail();
         try {
             // Debug logging
             log.info("QR Code verification request by owner - ownerEmail: {}", ownerEmail);
@@ -608,19 +709,12 @@ public class BookingService {
             Booking booking = bookingOpt.get();
             
             // Check if the booking belongs to an activity owned by this user
-            User owner = userRepository.findByEmail(ownerEmail)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
             if (!owner.isTravelActivityOwner()) {
                 throw new RuntimeException("Access denied: User is not a travel activity owner");
             }
             
             // Verify this booking is for an activity owned by this user
-            List<Booking> ownerBookings = bookingRepository.findBookingsByActivityOwner(ownerEmail);
-            boolean isOwnerBooking = ownerBookings.stream()
-                    .anyMatch(b -> b.getId().equals(ticketId));
-            
-            if (!isOwnerBooking) {
+            if (!isOwnerBooking(booking, owner)) {
                 throw new RuntimeException("Access denied: This ticket is not for your activities");
             }
             
@@ -681,7 +775,8 @@ public class BookingService {
     }
     
     @Transactional
-    public BookingResponseDTO markBookingAsCompletedByOwner(String bookingId, String ownerEmail) {
+    public BookingResponseDTO markBookingAsCompletedByOwner(String bookingId, User owner) {
+        String ownerEmail = owner.getEmail();
         try {
             log.info("Marking booking {} as completed by owner: {}", bookingId, ownerEmail);
             
@@ -689,19 +784,12 @@ public class BookingService {
                     .orElseThrow(() -> new RuntimeException("Booking not found"));
             
             // Check if the booking belongs to an activity owned by this user
-            User owner = userRepository.findByEmail(ownerEmail)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
             if (!owner.isTravelActivityOwner()) {
                 throw new RuntimeException("Access denied: User is not a travel activity owner");
             }
             
             // Verify this booking is for an activity owned by this user
-            List<Booking> ownerBookings = bookingRepository.findBookingsByActivityOwner(ownerEmail);
-            boolean isOwnerBooking = ownerBookings.stream()
-                    .anyMatch(b -> b.getId().equals(bookingId));
-            
-            if (!isOwnerBooking) {
+            if (!isOwnerBooking(booking, owner)) {
                 throw new RuntimeException("Access denied: Booking does not belong to your activities");
             }
             
@@ -717,8 +805,7 @@ public class BookingService {
             }
             
             // Update status to completed
-            booking.setStatus(Booking.BookingStatus.COMPLETED);
-            Booking updatedBooking = bookingRepository.save(booking);
+            Booking updatedBooking = changeStatus(booking, Booking.BookingStatus.COMPLETED);
             
             log.info("Booking {} successfully marked as completed by owner: {}", bookingId, ownerEmail);
             
@@ -730,6 +817,12 @@ public class BookingService {
         }
     }
     
+    // One primary key lookup on the booking's activity instead of loading all of the owner's bookings
+    private boolean isOwnerBooking(Booking booking, User owner) {
+        return booking.getActivityId() != null
+                && activityRepository.existsByIdAndCreatedBy(booking.getActivityId(), owner.getEmail());
+    }
+    
     public Long getBookingCountByActivityOwner(String ownerEmail) {
         return bookingRepository.countBookingsByActivityOwner(ownerEmail);
     }
@@ -743,104 +836,7 @@ public class BookingService {
         return revenue != null ? revenue : 0.0;
     }
     
-    // Additional owner methods with token support for AdminController integration
-    public List<BookingResponseDTO> getBookingsByActivityOwnerToken(String token) {
-        try {
-            // Decode token to get user email
-            String decodedToken = new String(java.util.Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                throw new RuntimeException("Invalid token format");
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            User owner = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
-            if (!owner.isTravelActivityOwner()) {
-                throw new RuntimeException("Access denied: User is not a travel activity owner");
-            }
-            
-            return getBookingsByActivityOwner(owner.getEmail());
-        } catch (Exception e) {
-            log.error("Error getting bookings by activity owner token: ", e);
-            throw new RuntimeException("Failed to retrieve owner bookings: " + e.getMessage());
-        }
-    }
-    
-    public BookingResponseDTO updateBookingStatusAsOwnerToken(String bookingId, Booking.BookingStatus status, String token) {
-        try {
-            // Decode token to get user email
-            String decodedToken = new String(java.util.Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                throw new RuntimeException("Invalid token format");
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            User owner = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
-            if (!owner.isTravelActivityOwner()) {
-                throw new RuntimeException("Access denied: User is not a travel activity owner");
-            }
-            
-            return updateBookingStatusAsOwner(bookingId, status, owner.getEmail());
-        } catch (Exception e) {
-            log.error("Error updating booking status by owner token: ", e);
-            throw new RuntimeException("Failed to update booking status: " + e.getMessage());
-        }
-    }
-    
-    public BookingResponseDTO verifyQRCodeByOwnerToken(String qrCodeData, String token) {
-        try {
-            // Decode token to get user email
-            String decodedToken = new String(java.util.Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                throw new RuntimeException("Invalid token format");
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            User owner = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
-            if (!owner.isTravelActivityOwner()) {
-                throw new RuntimeException("Access denied: User is not a travel activity owner");
-            }
-            
-            return verifyQRCodeAsOwner(qrCodeData, owner.getEmail());
-        } catch (Exception e) {
-            log.error("Error verifying QR code by owner token: ", e);
-            throw new RuntimeException("Failed to verify QR code: " + e.getMessage());
-        }
-    }
-    
-    public BookingResponseDTO markBookingAsCompletedByOwnerToken(String bookingId, String token) {
-        try {
-            // Decode token to get user email
-            String decodedToken = new String(java.util.Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                throw new RuntimeException("Invalid token format");
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            User owner = userRepository.findById(userId)
-                    .orElseThrow(() -> new RuntimeException("Owner not found"));
-            
-            if (!owner.isTravelActivityOwner()) {
-                throw new RuntimeException("Access denied: User is not a travel activity owner");
-            }
-            
-            return markBookingAsCompletedByOwner(bookingId, owner.getEmail());
-        } catch (Exception e) {
-            log.error("Error marking booking as completed by owner token: ", e);
-            throw new RuntimeException("Failed to mark booking as completed: " + e.getMessage());
-        }
+    public BookingPageDTO getBookingsPageByActivityOwner(String ownerEmail, BookingPageRequestDTO request) {
+        return findBookingsPage(null, ownerEmail, request);
     }
 }
@@ -0,0 +1,193 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.event.DashboardChangedEvent;
+import com.travelauthority.backend.repository.BookingRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Admin dashboard totals kept in memory. They are loaded with one aggregate query and
+ * then moved along by DashboardChangedEvents, so the dashboard is served without
+ * touching the database. A periodic reload corrects any drift from writes that do not
+ * publish events.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class DashboardSnapshot {
+
+    private static final int RELOAD_ATTEMPTS = 5;
+    private static final long RELOAD_RETRY_DELAY_MS = 50;
+
+    private final BookingRepository bookingRepository;
+
+    // Bumped by every change; a reload that saw it move retries so no change is lost
+    private final AtomicLong changes = new AtomicLong();
+
+    // Changes published in a transaction that has not finished yet. A reload that starts
+    // while one is open may already see its rows, so it retries instead of counting it twice
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Guarded by this
+    private boolean loaded;
+    private long totalUsers;
+    private long totalActivities;
+    private final Map<Booking.BookingStatus, Long> bookingsByStatus = new EnumMap<>(Booking.BookingStatus.class);
+    private final Map<Booking.BookingStatus, Double> revenueByStatus = new EnumMap<>(Booking.BookingStatus.class);
+
+    public Map<String, Object> getDashboardData() {
+        synchronized (this) {
+            if (loaded) {
+                return toDashboardData();
+            }
+        }
+        reload();
+        synchronized (this) {
+            return toDashboardData();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.dashboard.reload-ms:600000}", initialDelayString = "${admin.dashboard.reload-ms:600000}")
+    public void reload() {
+        for (int attempt = 1; attempt <= RELOAD_ATTEMPTS; attempt++) {
+            long version = changes.get();
+            boolean quiet = pending.get() == 0;
+            List<Object[]> rows = bookingRepository.getDashboardAggregates();
+            synchronized (this) {
+                if (quiet && changes.get() == version) {
+                    apply(rows);
+                    return;
+                }
+                // Nothing loaded yet, so use the last attempt; the next reload corrects it
+                if (!loaded && attempt == RELOAD_ATTEMPTS) {
+                    apply(rows);
+                    return;
+                }
+            }
+            if (attempt < RELOAD_ATTEMPTS) {
+                try {
+                    // Give open transactions a moment to finish
+                    Thread.sleep(RELOAD_RETRY_DELAY_MS * attempt);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        // The event-maintained totals stay in place until a reload finds a quiet moment
+        log.debug("Dashboard reload skipped, bookings kept changing during {} attempts", RELOAD_ATTEMPTS);
+    }
+
+    /**
+     * Counts the change as pending while the publishing transaction is open and applies it
+     * once it commits. Applying and clearing the pending mark happen under the same lock a
+     * reload checks, so a reload either retries or runs entirely before or after the change.
+     */
+    @EventListener
+    public void onDashboardChanged(DashboardChangedEvent event) {
+        changes.incrementAndGet();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            applyChange(event);
+            return;
+        }
+
+        pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                synchronized (DashboardSnapshot.this) {
+                    if (status == STATUS_COMMITTED && !event.isReset()) {
+                        applyDelta(event);
+                    }
+                    pending.decrementAndGet();
+                    changes.incrementAndGet();
+                }
+                if (status == STATUS_COMMITTED && event.isReset()) {
+                    reload();
+                }
+            }
+        });
+    }
+
+    private void applyChange(DashboardChangedEvent event) {
+        if (event.isReset()) {
+            reload();
+            return;
+        }
+        synchronized (this) {
+            applyDelta(event);
+        }
+    }
+
+    // Caller holds the lock on this
+    private void applyDelta(DashboardChangedEvent event) {
+        totalUsers += event.getUsersDelta();
+        totalActivities += event.getActivitiesDelta();
+        if (event.getRemovedStatus() != null) {
+            bookingsByStatus.merge(event.getRemovedStatus(), -1L, Long::sum);
+            revenueByStatus.merge(event.getRemovedStatus(), -event.getTotalPrice(), Double::sum);
+        }
+        if (event.getAddedStatus() != null) {
+            bookingsByStatus.merge(event.getAddedStatus(), 1L, Long::sum);
+            revenueByStatus.merge(event.getAddedStatus(), event.getTotalPrice(), Double::sum);
+        }
+    }
+
+    // Rows are (metric, count, revenue): USERS, ACTIVITIES, then one row per booking status
+    private void apply(List<Object[]> rows) {
+        totalUsers = 0;
+        totalActivities = 0;
+        bookingsByStatus.clear();
+        revenueByStatus.clear();
+        for (Object[] row : rows) {
+            String metric = (String) row[0];
+            long count = ((Number) row[1]).longValue();
+            double revenue = row[2] != null ? ((Number) row[2]).doubleValue() : 0.0;
+            switch (metric) {
+                case "USERS" -> totalUsers = count;
+                case "ACTIVITIES" -> totalActivities = count;
+                default -> {
+                    Booking.BookingStatus status = Booking.BookingStatus.valueOf(metric);
+                    bookingsByStatus.put(status, count);
+                    revenueByStatus.put(status, revenue);
+                }
+            }
+        }
+        loaded = true;
+    }
+
+    // Same keys as the dashboard built from individual count queries
+    private Map<String, Object> toDashboardData() {
+        Map<String, Object> dashboardData = new HashMap<>();
+        dashboardData.put("totalUsers", totalUsers);
+        dashboardData.put("totalActivities", totalActivities);
+
+        long totalBookings = 0;
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            long count = bookingsByStatus.getOrDefault(status, 0L);
+            totalBookings += count;
+            dashboardData.put("bookingsBy" + status.name(), count);
+        }
+        dashboardData.put("totalBookings", totalBookings);
+
+        // Revenue counts confirmed and completed bookings only
+        dashboardData.put("totalRevenue", revenueByStatus.getOrDefault(Booking.BookingStatus.CONFIRMED, 0.0)
+                + revenueByStatus.getOrDefault(Booking.BookingStatus.COMPLETED, 0.0));
+        return dashboardData;
+    }
+}
@@ -0,0 +1,9 @@
+package com.travelauthority.backend.service;
+
+/**
+ * Source of unique, time-ordered numeric IDs for bookings and order numbers.
+ * Implementations must be thread-safe and unique across backend nodes.
+ */
+public interface IdGenerator {
+    long nextId();
+}
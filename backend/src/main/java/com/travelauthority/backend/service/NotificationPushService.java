@@ -0,0 +1,189 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.Notification;
+import com.travelauthority.backend.event.NotificationChangedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Pushes new notifications to connected users over Server-Sent Events.
+ *
+ * An idle connection is just an SseEmitter on an async request, so it holds no thread.
+ * Each connection has a small bounded queue; sending drains it on a virtual thread that
+ * exists only while there is something to write. A connection whose queue fills up is a
+ * stalled client and is closed. Browsers open the stream with a short-lived stream token
+ * in the URL, so when a stream ends the client fetches a fresh token from
+ * /notifications/stream-token and reconnects rather than relying on EventSource's own retry,
+ * which would repeat the expired token.
+ */
+@Service
+@Slf4j
+public class NotificationPushService {
+
+    @Value("${notifications.stream.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notifications.stream.buffer-size:32}")
+    private int bufferSize;
+
+    @Value("${notifications.stream.max-connections-per-user:5}")
+    private int maxConnectionsPerUser;
+
+    // Copy-on-write lists per user, so dispatch iterates without locking
+    private final Map<Integer, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Open a stream for a user. The current unread count is sent first, then every new
+     * notification the user is a target of.
+     */
+    public SseEmitter subscribe(Integer userId, String userRole, long unreadCount) {
+        SseEmitter emitter = newEmitter();
+        Subscriber subscriber = new Subscriber(userId, userRole, emitter, new ArrayBlockingQueue<>(bufferSize));
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(() -> unregister(subscriber));
+        emitter.onError(error -> unregister(subscriber));
+
+        List<Subscriber> evicted = new ArrayList<>();
+        subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> updated = current != null ? new ArrayList<>(current) : new ArrayList<>();
+            // Close the oldest streams of a user with too many tabs open
+            while (updated.size() >= maxConnectionsPerUser) {
+                evicted.add(updated.remove(0));
+            }
+            updated.add(subscriber);
+            return List.copyOf(updated);
+        });
+        evicted.forEach(old -> old.emitter.complete());
+
+        enqueue(subscriber, new Push("unread-count", unreadCount));
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onNotificationChanged(NotificationChangedEvent event) {
+        if (event.getKind() != NotificationChangedEvent.Kind.CREATED || event.getNotification() == null) {
+            return;
+        }
+        Push push = new Push("notification", event.getNotification());
+
+        if (event.getTargetUserType() == Notification.TargetUserType.SPECIFIC_USER) {
+            if (event.getTargetUserId() != null) {
+                subscribers.getOrDefault(event.getTargetUserId(), List.of())
+                        .forEach(subscriber -> enqueue(subscriber, push));
+            }
+            return;
+        }
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            if (event.getTargetUserType().includes(event.getTargetUserId(), subscriber.userId, subscriber.userRole)) {
+                enqueue(subscriber, push);
+            }
+        }));
+    }
+
+    // Keeps proxies and load balancers from closing idle streams
+    @Scheduled(fixedRateString = "${notifications.stream.heartbeat-ms:25000}")
+    public void sendHeartbeats() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, Push.HEARTBEAT);
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.values().forEach(list -> list.forEach(subscriber -> subscriber.emitter.complete()));
+        subscribers.clear();
+        dispatcher.shutdownNow();
+    }
+
+    // Overridden in tests to watch what is written to a stream
+    SseEmitter newEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private void enqueue(Subscriber subscriber, Push push) {
+        if (!subscriber.queue.offer(push)) {
+            log.warn("Notification stream for user {} is not keeping up, closing it", subscriber.userId);
+            unregister(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        while (true) {
+            Push push = subscriber.queue.poll();
+            if (push == null) {
+                subscriber.draining.set(false);
+                // Something may have been queued after the poll but before the flag was cleared
+                if (subscriber.queue.isEmpty() || !subscriber.draining.compareAndSet(false, true)) {
+                    return;
+                }
+                continue;
+            }
+            try {
+                if (push == Push.HEARTBEAT) {
+                    subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));
+                } else {
+                    subscriber.emitter.send(SseEmitter.event().name(push.name).data(push.data));
+                }
+            } catch (Exception e) {
+                // Client went away; the emitter callbacks may not fire until the next write
+                log.debug("Notification stream for user {} closed: {}", subscriber.userId, e.getMessage());
+                unregister(subscriber);
+                subscriber.queue.clear();
+                subscriber.draining.set(false);
+                return;
+            }
+        }
+    }
+
+    private void unregister(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.userId, (id, current) -> {
+            List<Subscriber> updated = new ArrayList<>(current);
+            updated.remove(subscriber);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+    }
+
+    private record Push(String name, Object data) {
+        static final Push HEARTBEAT = new Push(null, null);
+    }
+
+    private static class Subscriber {
+        private final Integer userId;
+        private final String userRole;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Push> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        Subscriber(Integer userId, String userRole, SseEmitter emitter, BlockingQueue<Push> queue) {
+            this.userId = userId;
+            this.userRole = userRole;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+    }
+}
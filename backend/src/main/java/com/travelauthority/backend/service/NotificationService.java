@@ -1,24 +1,34 @@
 package com.travelauthority.backend.service;
 
 import com.travelauthority.backend.dto.CreateNotificationDTO;
+import com.travelauthority.backend.dto.NotificationCleanupResultDTO;
 import com.travelauthority.backend.dto.NotificationDTO;
 import com.travelauthority.backend.entity.Notification;
 import com.travelauthority.backend.entity.User;
 import com.travelauthority.backend.entity.UserNotificationStatus;
+import com.travelauthority.backend.event.NotificationChangedEvent;
 import com.travelauthority.backend.repository.NotificationRepository;
 import com.travelauthority.backend.repository.UserNotificationStatusRepository;
+import com.travelauthority.backend.repository.UserNotificationWatermarkRepository;
 import com.travelauthority.backend.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +39,18 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserNotificationStatusRepository userNotificationStatusRepository;
     private final UserRepository userRepository;
+    private final UserNotificationWatermarkRepository userNotificationWatermarkRepository;
+    private final NotificationUnreadCounter unreadCounter;
+    private final NotificationPushService pushService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${notifications.cleanup.chunk-size:500}")
+    private int cleanupChunkSize;
+
+    @Value("${notifications.cleanup.purge-after-days:0}")
+    private int purgeAfterDays;
+
+    private volatile Integer systemUserId;
 
     // Make this method public and allow createdByUserId to be null (use system user if null)
     @Transactional
@@ -41,7 +63,7 @@ public class NotificationService {
                     .orElseThrow(() -> new RuntimeException("User not found"));
         } else {
             // Use system user (admin) if not provided
-            createdBy = userRepository.findByRole(User.Role.ADMIN).stream().findFirst()
+            createdBy = findSystemUser()
                     .orElseThrow(() -> new RuntimeException("System admin user not found"));
         }
 
@@ -69,7 +91,9 @@ public class NotificationService {
         notification = notificationRepository.save(notification);
         log.info("Notification created with ID: {}", notification.getId());
 
-        return convertToDTO(notification, null);
+        NotificationDTO notificationDTO = convertToDTO(notification, null);
+        eventPublisher.publishEvent(NotificationChangedEvent.created(notificationDTO));
+        return notificationDTO;
     }
 
     @Transactional(readOnly = true)
@@ -78,11 +102,9 @@ public class NotificationService {
         List<Notification> notifications = notificationRepository.findActiveNotificationsForUser(
                 userId, userRole, currentTime);
 
+        Set<Long> readIds = findReadNotificationIds(notifications, userId);
         return notifications.stream()
-                .map(notification -> {
-                    boolean isRead = isNotificationReadByUser(notification.getId(), userId);
-                    return convertToDTO(notification, isRead);
-                })
+                .map(notification -> convertToDTO(notification, readIds.contains(notification.getId())))
                 .collect(Collectors.toList());
     }
 
@@ -94,16 +116,18 @@ public class NotificationService {
         Page<Notification> notifications = notificationRepository.findActiveNotificationsForUserPaged(
                 userId, userRole, currentTime, pageable);
 
-        return notifications.map(notification -> {
-            boolean isRead = isNotificationReadByUser(notification.getId(), userId);
-            return convertToDTO(notification, isRead);
-        });
+        Set<Long> readIds = findReadNotificationIds(notifications.getContent(), userId);
+        return notifications.map(notification -> convertToDTO(notification, readIds.contains(notification.getId())));
     }
 
-    @Transactional(readOnly = true)
+    // Served from the in-memory counters; only the first call for a user runs a query
     public Long getUnreadNotificationCount(Integer userId, String userRole) {
-        LocalDateTime currentTime = LocalDateTime.now();
-        return notificationRepository.countUnreadNotificationsForUser(userId, userRole, currentTime);
+        return unreadCounter.getUnreadCount(userId, userRole);
+    }
+
+    // Live stream of new notifications for a user, starting with the current unread count
+    public SseEmitter subscribe(Integer userId, String userRole) {
+        return pushService.subscribe(userId, userRole, unreadCounter.getUnreadCount(userId, userRole));
     }
 
     @Transactional
@@ -114,6 +138,11 @@ public class NotificationService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
+        // Already read through the user's watermark, no status row needed
+        if (isBelowWatermark(notificationId, userId)) {
+            return;
+        }
+
         Optional<UserNotificationStatus> existingStatus = 
                 userNotificationStatusRepository.findByNotificationAndUser(notification, user);
 
@@ -124,6 +153,7 @@ public class NotificationService {
                 status.setReadAt(LocalDateTime.now());
                 userNotificationStatusRepository.save(status);
                 log.info("Marked notification {} as read for user {}", notificationId, userId);
+                eventPublisher.publishEvent(NotificationChangedEvent.read(notificationId, userId));
             }
         } else {
             UserNotificationStatus status = UserNotificationStatus.builder()
@@ -134,23 +164,35 @@ public class NotificationService {
                     .build();
             userNotificationStatusRepository.save(status);
             log.info("Created read status for notification {} and user {}", notificationId, userId);
+            eventPublisher.publishEvent(NotificationChangedEvent.read(notificationId, userId));
         }
     }
 
+    /**
+     * Move the user's read watermark up to the newest notification the client has shown,
+     * so a notification committed after the client last loaded its list stays unread. IDs
+     * are assigned before commit, so the highest ID in the table is not a safe watermark:
+     * a lower ID may still be uncommitted. Clients that do not send upToId fall back to
+     * that highest ID and accept the small gap.
+     */
     @Transactional
-    public void markAllNotificationsAsRead(Integer userId) {
-        String userRole = userRepository.findById(userId)
-                .map(user -> user.getRole().name())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        LocalDateTime currentTime = LocalDateTime.now();
-        List<Notification> notifications = notificationRepository.findActiveNotificationsForUser(
-                userId, userRole, currentTime);
+    public void markAllNotificationsAsRead(Integer userId, Long upToId) {
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("User not found");
+        }
 
-        for (Notification notification : notifications) {
-            markNotificationAsRead(notification.getId(), userId);
+        // The status rows the watermark covers are no longer needed
+        Long readUpToId = notificationRepository.findMaxId();
+        if (readUpToId != null && upToId != null) {
+            readUpToId = Math.min(readUpToId, upToId);
+        }
+        if (readUpToId != null) {
+            userNotificationWatermarkRepository.advance(userId, readUpToId, LocalDateTime.now());
+            int removed = userNotificationStatusRepository.deleteUpTo(userId, readUpToId);
+            log.info("Marked all notifications as read for user {} up to {} ({} status rows removed)",
+                    userId, readUpToId, removed);
         }
-        log.info("Marked all notifications as read for user {}", userId);
+        eventPublisher.publishEvent(NotificationChangedEvent.allRead(userId));
     }
 
     @Transactional(readOnly = true)
@@ -177,6 +219,9 @@ public class NotificationService {
 
         notification = notificationRepository.save(notification);
         log.info("Updated notification with ID: {}", notification.getId());
+        if (Boolean.TRUE.equals(notification.getIsActive())) {
+            eventPublisher.publishEvent(NotificationChangedEvent.updated(notification));
+        }
 
         return convertToDTO(notification, null);
     }
@@ -189,21 +234,53 @@ public class NotificationService {
         notification.setIsActive(false);
         notificationRepository.save(notification);
         log.info("Deactivated notification with ID: {}", notificationId);
+        eventPublisher.publishEvent(NotificationChangedEvent.removed(notificationId));
     }
 
-    @Transactional
-    public void cleanupExpiredNotifications() {
+    @Scheduled(cron = "${notifications.cleanup.cron:0 */15 * * * *}")
+    public void scheduledCleanup() {
+        cleanupExpiredNotifications();
+    }
+
+    /**
+     * Deactivate expired notifications and, when purge-after-days is set, delete inactive
+     * notifications older than that together with their read status rows. Works in chunks
+     * of IDs with one bulk statement each, every chunk in its own short transaction.
+     */
+    public synchronized NotificationCleanupResultDTO cleanupExpiredNotifications() {
+        long start = System.currentTimeMillis();
+        Pageable chunk = PageRequest.of(0, cleanupChunkSize);
+
+        int deactivated = 0;
         LocalDateTime currentTime = LocalDateTime.now();
-        List<Notification> expiredNotifications = notificationRepository.findExpiredNotifications(currentTime);
-        
-        for (Notification notification : expiredNotifications) {
-            notification.setIsActive(false);
+        List<Long> expiredIds;
+        while (!(expiredIds = notificationRepository.findExpiredIds(currentTime, chunk)).isEmpty()) {
+            deactivated += notificationRepository.deactivateByIds(expiredIds);
+            expiredIds.forEach(id -> eventPublisher.publishEvent(NotificationChangedEvent.removed(id)));
         }
-        
-        if (!expiredNotifications.isEmpty()) {
-            notificationRepository.saveAll(expiredNotifications);
-            log.info("Deactivated {} expired notifications", expiredNotifications.size());
+
+        int purged = 0;
+        int statusRowsDeleted = 0;
+        if (purgeAfterDays > 0) {
+            LocalDateTime cutoff = currentTime.minusDays(purgeAfterDays);
+            List<Long> purgeableIds;
+            while (!(purgeableIds = notificationRepository.findPurgeableIds(cutoff, chunk)).isEmpty()) {
+                statusRowsDeleted += userNotificationStatusRepository.deleteByNotificationIds(purgeableIds);
+                purged += notificationRepository.deleteByIds(purgeableIds);
+            }
         }
+
+        long durationMs = System.currentTimeMillis() - start;
+        if (deactivated > 0 || purged > 0) {
+            log.info("Notification cleanup: {} deactivated, {} purged, {} status rows deleted in {} ms",
+                    deactivated, purged, statusRowsDeleted, durationMs);
+        }
+        return NotificationCleanupResultDTO.builder()
+                .deactivated(deactivated)
+                .purged(purged)
+                .statusRowsDeleted(statusRowsDeleted)
+                .durationMs(durationMs)
+                .build();
     }
 
     // Helper method to create system notifications
@@ -219,8 +296,7 @@ public class NotificationService {
                 .build();
 
         // Use system user (admin) as creator
-        User systemUser = userRepository.findByRole(User.Role.ADMIN).stream().findFirst()
-                .orElse(null);
+        User systemUser = findSystemUser().orElse(null);
         
         if (systemUser != null) {
             createNotification(createDTO, systemUser.getId());
@@ -243,8 +319,7 @@ public class NotificationService {
                 .actionUrl("/bookings/" + bookingId)
                 .build();
 
-        User systemUser = userRepository.findByRole(User.Role.ADMIN).stream().findFirst()
-                .orElse(null);
+        User systemUser = findSystemUser().orElse(null);
         
         if (systemUser != null) {
             createNotification(createDTO, systemUser.getId());
@@ -267,19 +342,52 @@ public class NotificationService {
                 .actionUrl("/bookings/" + bookingId)
                 .build();
 
-        User systemUser = userRepository.findByRole(User.Role.ADMIN).stream().findFirst()
-                .orElse(null);
+        User systemUser = findSystemUser().orElse(null);
 
         if (systemUser != null) {
             createNotification(createDTO, systemUser.getId());
         }
     }
 
-    private boolean isNotificationReadByUser(Long notificationId, Integer userId) {
-        return userNotificationStatusRepository.isNotificationReadByUser(notificationId, userId)
+    // The first admin creates system notifications; its ID is looked up by role only once
+    private Optional<User> findSystemUser() {
+        Integer cachedId = systemUserId;
+        if (cachedId != null) {
+            Optional<User> user = userRepository.findById(cachedId);
+            if (user.isPresent() && user.get().getRole() == User.Role.ADMIN) {
+                return user;
+            }
+        }
+        Optional<User> user = userRepository.findByRole(User.Role.ADMIN).stream().findFirst();
+        systemUserId = user.map(User::getId).orElse(null);
+        return user;
+    }
+
+    private boolean isBelowWatermark(Long notificationId, Integer userId) {
+        return userNotificationWatermarkRepository.findReadUpToId(userId)
+                .map(readUpToId -> notificationId <= readUpToId)
                 .orElse(false);
     }
 
+    // Read state of a page of notifications in at most two queries: the watermark, then
+    // individual reads above it
+    private Set<Long> findReadNotificationIds(List<Notification> notifications, Integer userId) {
+        long readUpToId = userNotificationWatermarkRepository.findReadUpToId(userId).orElse(0L);
+        Set<Long> readIds = new HashSet<>();
+        List<Long> aboveWatermark = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (notification.getId() <= readUpToId) {
+                readIds.add(notification.getId());
+            } else {
+                aboveWatermark.add(notification.getId());
+            }
+        }
+        if (!aboveWatermark.isEmpty()) {
+            readIds.addAll(userNotificationStatusRepository.findReadNotificationIds(userId, aboveWatermark));
+        }
+        return readIds;
+    }
+
     private NotificationDTO convertToDTO(Notification notification, Boolean isRead) {
         return NotificationDTO.builder()
                 .id(notification.getId())
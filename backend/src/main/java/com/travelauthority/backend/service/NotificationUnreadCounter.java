@@ -0,0 +1,179 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.Notification;
+import com.travelauthority.backend.event.NotificationChangedEvent;
+import com.travelauthority.backend.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread notification counts kept in memory. A user's count is loaded with one
+ * query the first time it is asked for and afterwards kept up to date from
+ * NotificationChangedEvents, so polling the unread count does not touch the database.
+ *
+ * The audience and expiry of every active notification is held alongside, which is what
+ * lets a new broadcast bump the counts of the users it targets and a read only count when
+ * the notification still applies. When a notification is edited, removed or expires the
+ * counts are dropped and reloaded on demand.
+ *
+ * Events only reach the node that made the change, so every node also reloads the active
+ * notifications and drops its counts every notifications.unread.reload-ms. A notification
+ * created or read on another node shows up here within that interval.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class NotificationUnreadCounter {
+
+    private final NotificationRepository notificationRepository;
+
+    private final Map<Long, Audience> activeNotifications = new ConcurrentHashMap<>();
+    private final Map<Integer, UnreadCount> counts = new ConcurrentHashMap<>();
+
+    // Bumped by every change; a count loaded while it moved may be stale and is not kept
+    private final AtomicLong changes = new AtomicLong();
+
+    private volatile LocalDateTime nextExpiry;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${notifications.unread.reload-ms:60000}",
+            initialDelayString = "${notifications.unread.reload-ms:60000}")
+    public synchronized void load() {
+        changes.incrementAndGet();
+        activeNotifications.clear();
+        for (Notification notification : notificationRepository.findActiveNotifications(LocalDateTime.now())) {
+            activeNotifications.put(notification.getId(), new Audience(notification.getTargetUserType(),
+                    notification.getTargetUserId(), notification.getExpiresAt()));
+        }
+        counts.clear();
+        updateNextExpiry();
+        log.debug("Loaded {} active notifications for unread counts", activeNotifications.size());
+    }
+
+    public long getUnreadCount(Integer userId, String userRole) {
+        expireDue();
+
+        UnreadCount cached = counts.get(userId);
+        if (cached != null && cached.role.equals(userRole)) {
+            return cached.value.get();
+        }
+
+        long version = changes.get();
+        Long unread = notificationRepository.countUnreadNotificationsForUser(userId, userRole, LocalDateTime.now());
+        UnreadCount loaded = new UnreadCount(userRole, unread != null ? unread : 0L);
+        counts.put(userId, loaded);
+        if (changes.get() != version) {
+            // A change landed while counting and may or may not be included
+            counts.remove(userId, loaded);
+        }
+        return loaded.value.get();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onNotificationChanged(NotificationChangedEvent event) {
+        changes.incrementAndGet();
+        switch (event.getKind()) {
+            case CREATED -> {
+                Audience audience = new Audience(event.getTargetUserType(), event.getTargetUserId(), event.getExpiresAt());
+                activeNotifications.put(event.getNotificationId(), audience);
+                updateNextExpiry();
+                if (audience.isExpired(LocalDateTime.now())) {
+                    return;
+                }
+                if (audience.targetUserType == Notification.TargetUserType.SPECIFIC_USER) {
+                    UnreadCount count = counts.get(audience.targetUserId);
+                    if (count != null) {
+                        count.value.incrementAndGet();
+                    }
+                } else {
+                    counts.forEach((userId, count) -> {
+                        if (audience.targets(userId, count.role)) {
+                            count.value.incrementAndGet();
+                        }
+                    });
+                }
+            }
+            case READ -> {
+                Audience audience = activeNotifications.get(event.getNotificationId());
+                UnreadCount count = counts.get(event.getUserId());
+                if (audience != null && count != null && !audience.isExpired(LocalDateTime.now())
+                        && audience.targets(event.getUserId(), count.role)) {
+                    count.value.updateAndGet(value -> Math.max(0, value - 1));
+                }
+            }
+            case ALL_READ -> counts.remove(event.getUserId());
+            case UPDATED -> {
+                activeNotifications.put(event.getNotificationId(), new Audience(event.getTargetUserType(),
+                        event.getTargetUserId(), event.getExpiresAt()));
+                counts.clear();
+                updateNextExpiry();
+            }
+            case REMOVED -> {
+                if (activeNotifications.remove(event.getNotificationId()) != null) {
+                    counts.clear();
+                    updateNextExpiry();
+                }
+            }
+        }
+    }
+
+    // Expiry is not a write, so the first read after a notification expires drops the counts
+    private void expireDue() {
+        LocalDateTime expiry = nextExpiry;
+        if (expiry == null || LocalDateTime.now().isBefore(expiry)) {
+            return;
+        }
+        synchronized (this) {
+            LocalDateTime now = LocalDateTime.now();
+            if (nextExpiry == null || now.isBefore(nextExpiry)) {
+                return;
+            }
+            changes.incrementAndGet();
+            activeNotifications.values().removeIf(audience -> audience.isExpired(now));
+            counts.clear();
+            updateNextExpiry();
+        }
+    }
+
+    private void updateNextExpiry() {
+        nextExpiry = activeNotifications.values().stream()
+                .map(audience -> audience.expiresAt)
+                .filter(Objects::nonNull)
+                .min(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+
+    private record Audience(Notification.TargetUserType targetUserType, Integer targetUserId,
+                            LocalDateTime expiresAt) {
+
+        boolean isExpired(LocalDateTime now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
+
+        boolean targets(Integer userId, String userRole) {
+            return targetUserType.includes(targetUserId, userId, userRole);
+        }
+    }
+
+    private static class UnreadCount {
+        private final String role;
+        private final AtomicLong value;
+
+        UnreadCount(String role, long value) {
+            this.role = role;
+            this.value = new AtomicLong(value);
+        }
+    }
+}
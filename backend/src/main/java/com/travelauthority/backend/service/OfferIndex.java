@@ -0,0 +1,232 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.OfferDTO;
+import com.travelauthority.backend.event.OfferChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * In-memory index of active offers. It keeps the set of offers in effect on the current
+ * date, and a lookup keyed by activity and package holding those offers sorted by
+ * discount, highest first. Reads never compare dates; the effective set is recomputed
+ * when an offer changes, when the index is rebuilt (OfferServiceImpl does so every
+ * offers.index.reload-ms) and when the date advances at midnight, and an OfferChangedEvent
+ * is published whenever it actually changes.
+ *
+ * Reads are lock-free against an immutable snapshot. Writers rebuild only the affected
+ * activity's part of the package lookup and publish a new snapshot.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OfferIndex {
+
+    // Highest discount first; offers without a discount last, then oldest offer first
+    private static final Comparator<OfferDTO> BEST_FIRST = Comparator
+            .comparing(OfferDTO::getDiscountPercentage, Comparator.nullsFirst(Comparator.<Double>naturalOrder()))
+            .reversed()
+            .thenComparingInt(OfferDTO::getId);
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile Snapshot snapshot = new Snapshot(LocalDate.now(), Map.of(), Map.of(), Map.of());
+
+    /**
+     * Best offer currently in effect for a package, or null if there is none.
+     */
+    public OfferDTO findBestOffer(Integer activityId, Long packageId) {
+        Map<Long, List<OfferDTO>> packages = snapshot.byActivity.get(activityId);
+        if (packages == null) {
+            return null;
+        }
+        List<OfferDTO> offers = packages.get(packageId);
+        return offers != null ? offers.get(0) : null;
+    }
+
+    /**
+     * Best offer currently in effect for each package of an activity. Packages without
+     * an offer are left out.
+     */
+    public Map<Long, OfferDTO> findBestOffers(Integer activityId) {
+        Map<Long, List<OfferDTO>> packages = snapshot.byActivity.get(activityId);
+        if (packages == null) {
+            return Map.of();
+        }
+        Map<Long, OfferDTO> bestOffers = new HashMap<>();
+        packages.forEach((packageId, offers) -> bestOffers.put(packageId, offers.get(0)));
+        return bestOffers;
+    }
+
+    /**
+     * Active offers in effect today; offers without a start or end date are open on that side.
+     */
+    public Collection<OfferDTO> getEffectiveOffers() {
+        return snapshot.effective.values();
+    }
+
+    /**
+     * Replace the whole index, e.g. at startup.
+     */
+    public synchronized void rebuild(Collection<OfferDTO> offers, LocalDate today) {
+        Map<Integer, OfferDTO> active = new HashMap<>();
+        for (OfferDTO offer : offers) {
+            if (Boolean.TRUE.equals(offer.getActive())) {
+                active.put(offer.getId(), offer);
+            }
+        }
+        Snapshot previous = snapshot;
+        snapshot = build(today, active);
+        log.debug("Offer index rebuilt with {} active offers, {} in effect on {}",
+                active.size(), snapshot.effective.size(), today);
+        publishIfChanged(previous.effective, snapshot.effective);
+    }
+
+    /**
+     * Recompute the effective offers for a new date. Publishes an OfferChangedEvent if any
+     * offer started or ended.
+     */
+    public synchronized void advanceTo(LocalDate today) {
+        Snapshot previous = snapshot;
+        snapshot = build(today, previous.active);
+        publishIfChanged(previous.effective, snapshot.effective);
+    }
+
+    /**
+     * Add or replace an offer after it was created or changed. Inactive offers are removed.
+     */
+    public synchronized void put(OfferDTO offer) {
+        Snapshot previous = snapshot;
+        Map<Integer, OfferDTO> active = new HashMap<>(previous.active);
+        OfferDTO old = active.remove(offer.getId());
+        if (Boolean.TRUE.equals(offer.getActive())) {
+            active.put(offer.getId(), offer);
+        }
+        replace(previous, active, old, offer);
+    }
+
+    public synchronized void remove(int offerId) {
+        Snapshot previous = snapshot;
+        OfferDTO old = previous.active.get(offerId);
+        if (old == null) {
+            return;
+        }
+        Map<Integer, OfferDTO> active = new HashMap<>(previous.active);
+        active.remove(offerId);
+        replace(previous, active, old, null);
+    }
+
+    public synchronized void clear() {
+        Snapshot previous = snapshot;
+        snapshot = new Snapshot(previous.date, Map.of(), Map.of(), Map.of());
+        publishIfChanged(previous.effective, snapshot.effective);
+    }
+
+    // Swap in a new snapshot after one offer changed, rebuilding only the activities it touches
+    private void replace(Snapshot previous, Map<Integer, OfferDTO> active, OfferDTO old, OfferDTO updated) {
+        int offerId = old != null ? old.getId() : updated.getId();
+        Map<Integer, OfferDTO> effective = new HashMap<>(previous.effective);
+        OfferDTO wasEffective = effective.remove(offerId);
+        OfferDTO nowEffective = active.containsKey(offerId) && isEffective(updated, previous.date) ? updated : null;
+        if (nowEffective != null) {
+            effective.put(offerId, nowEffective);
+        }
+
+        Map<Integer, Map<Long, List<OfferDTO>>> byActivity = new HashMap<>(previous.byActivity);
+        if (old != null && old.getActivityId() != null) {
+            refreshActivity(byActivity, effective.values(), old.getActivityId());
+        }
+        if (updated != null && updated.getActivityId() != null) {
+            refreshActivity(byActivity, effective.values(), updated.getActivityId());
+        }
+        snapshot = new Snapshot(previous.date, Map.copyOf(active), Map.copyOf(effective), Map.copyOf(byActivity));
+
+        if (wasEffective != null || nowEffective != null) {
+            eventPublisher.publishEvent(new OfferChangedEvent(Set.of(offerId)));
+        }
+    }
+
+    private Snapshot build(LocalDate date, Map<Integer, OfferDTO> active) {
+        Map<Integer, OfferDTO> effective = new HashMap<>();
+        active.values().stream()
+                .filter(offer -> isEffective(offer, date))
+                .forEach(offer -> effective.put(offer.getId(), offer));
+
+        Map<Integer, Map<Long, List<OfferDTO>>> byActivity = new HashMap<>();
+        effective.values().stream()
+                .map(OfferDTO::getActivityId)
+                .filter(Objects::nonNull)
+                .distinct()
+                .forEach(activityId -> refreshActivity(byActivity, effective.values(), activityId));
+        return new Snapshot(date, Map.copyOf(active), Map.copyOf(effective), Map.copyOf(byActivity));
+    }
+
+    private void publishIfChanged(Map<Integer, OfferDTO> before, Map<Integer, OfferDTO> after) {
+        Set<Integer> changed = new HashSet<>();
+        before.keySet().stream().filter(id -> !after.containsKey(id)).forEach(changed::add);
+        after.forEach((id, offer) -> {
+            // Compared by value, since a rebuild brings freshly loaded copies of unchanged offers
+            if (!offer.equals(before.get(id))) {
+                changed.add(id);
+            }
+        });
+        if (!changed.isEmpty()) {
+            log.info("Offers in effect changed: {}", changed);
+            eventPublisher.publishEvent(new OfferChangedEvent(Set.copyOf(changed)));
+        }
+    }
+
+    private boolean isEffective(OfferDTO offer, LocalDate date) {
+        return (offer.getStartDate() == null || !date.isBefore(offer.getStartDate()))
+                && (offer.getEndDate() == null || !date.isAfter(offer.getEndDate()));
+    }
+
+    private void refreshActivity(Map<Integer, Map<Long, List<OfferDTO>>> byActivity,
+                                 Collection<OfferDTO> effective, Integer activityId) {
+        Map<Long, List<OfferDTO>> packages = buildActivity(effective, activityId);
+        if (packages.isEmpty()) {
+            byActivity.remove(activityId);
+        } else {
+            byActivity.put(activityId, packages);
+        }
+    }
+
+    private Map<Long, List<OfferDTO>> buildActivity(Collection<OfferDTO> effective, Integer activityId) {
+        Map<Long, List<OfferDTO>> packages = new HashMap<>();
+        for (OfferDTO offer : effective) {
+            // Package offers need an explicit date range
+            if (activityId.equals(offer.getActivityId()) && offer.getSelectedPackages() != null
+                    && offer.getStartDate() != null && offer.getEndDate() != null) {
+                for (Long packageId : offer.getSelectedPackages()) {
+                    if (packageId != null) {
+                        packages.computeIfAbsent(packageId, id -> new ArrayList<>()).add(offer);
+                    }
+                }
+            }
+        }
+        Map<Long, List<OfferDTO>> sorted = new HashMap<>();
+        packages.forEach((packageId, list) -> {
+            list.sort(BEST_FIRST);
+            sorted.put(packageId, List.copyOf(list));
+        });
+        return Map.copyOf(sorted);
+    }
+
+    private record Snapshot(LocalDate date,
+                            Map<Integer, OfferDTO> active,
+                            Map<Integer, OfferDTO> effective,
+                            Map<Integer, Map<Long, List<OfferDTO>>> byActivity) {
+    }
+}
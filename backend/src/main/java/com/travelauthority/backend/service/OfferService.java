@@ -1,9 +1,11 @@
 package com.travelauthority.backend.service;
 
 import com.travelauthority.backend.dto.OfferDTO;
+import com.travelauthority.backend.dto.PackageOfferCheckDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 
 import java.util.List;
+import java.util.Map;
 
 public interface OfferService {
     ResponseDTO<OfferDTO> saveOffer(OfferDTO offerDTO);
@@ -17,5 +19,7 @@ public interface OfferService {
     ResponseDTO<Void> deleteOffer(int id);
     ResponseDTO<Void> deleteAllOffers();
     ResponseDTO<OfferDTO> checkPackageOffer(Integer activityId, Long packageId);
+    ResponseDTO<List<PackageOfferCheckDTO>> checkPackageOffers(List<PackageOfferCheckDTO> packages);
+    ResponseDTO<Map<Integer, Map<Long, OfferDTO>>> checkActivityOffers(List<Integer> activityIds);
     void setNotificationService(NotificationService notificationService);
 }
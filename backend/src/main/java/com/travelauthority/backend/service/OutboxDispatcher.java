@@ -0,0 +1,118 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.OutboxEvent;
+import com.travelauthority.backend.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Drains the outbox in the background. A batch of due events is locked with
+ * SKIP LOCKED and leased in one short transaction, so several backend nodes can dispatch
+ * side by side, then each event is handed to its handlers in a transaction of its own,
+ * which also marks it DONE. Draining runs on the shared scheduler pool, sized by
+ * spring.task.scheduling.pool.size so other jobs keep running during a long drain.
+ * Failed events are retried with a growing delay until max-attempts is reached.
+ */
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final List<OutboxEventHandler> handlers;
+    private final TransactionTemplate claimTransaction;
+    private final TransactionTemplate handlerTransaction;
+
+    @Value("${outbox.dispatch.batch-size:100}")
+    private int batchSize;
+
+    @Value("${outbox.dispatch.max-attempts:5}")
+    private int maxAttempts;
+
+    @Value("${outbox.dispatch.lease-seconds:300}")
+    private long leaseSeconds;
+
+    @Value("${outbox.retention-days:7}")
+    private int retentionDays;
+
+    public OutboxDispatcher(OutboxEventRepository outboxEventRepository, List<OutboxEventHandler> handlers,
+                            PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.handlers = handlers;
+        this.claimTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction = new TransactionTemplate(transactionManager);
+        this.handlerTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.dispatch.interval-ms:1000}")
+    public void dispatch() {
+        List<OutboxEvent> batch;
+        do {
+            batch = claimBatch();
+            for (OutboxEvent event : batch) {
+                process(event);
+            }
+        } while (batch.size() == batchSize);
+    }
+
+    @Scheduled(cron = "${outbox.cleanup-cron:0 30 3 * * *}")
+    public void deleteDispatchedEvents() {
+        int deleted = outboxEventRepository.deleteDoneBefore(LocalDateTime.now().minusDays(retentionDays));
+        if (deleted > 0) {
+            log.info("Deleted {} dispatched outbox events older than {} days", deleted, retentionDays);
+        }
+    }
+
+    private List<OutboxEvent> claimBatch() {
+        return claimTransaction.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+            List<OutboxEvent> events = outboxEventRepository.lockDueEvents(now, batchSize);
+            if (!events.isEmpty()) {
+                outboxEventRepository.claim(events.stream().map(OutboxEvent::getId).toList(),
+                        now.plusSeconds(leaseSeconds));
+            }
+            return events;
+        });
+    }
+
+    private void process(OutboxEvent event) {
+        try {
+            handlerTransaction.executeWithoutResult(status -> {
+                for (OutboxEventHandler handler : handlers) {
+                    if (handler.supports(event.getEventType())) {
+                        try {
+                            handler.handle(event);
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new RuntimeException(e);
+                        }
+                    }
+                }
+                // Same transaction as the handlers, so their work and the DONE mark commit together
+                outboxEventRepository.markDone(event.getId(), LocalDateTime.now());
+            });
+        } catch (Exception e) {
+            int attempts = event.getAttempts() + 1;
+            boolean giveUp = attempts >= maxAttempts;
+            // 10s, 20s, 40s, ... between attempts
+            LocalDateTime retryAt = LocalDateTime.now().plusSeconds(10L << Math.min(attempts - 1, 10));
+            String error = e.getMessage() != null ? e.getMessage() : e.getClass().getName();
+            outboxEventRepository.markFailed(event.getId(),
+                    giveUp ? OutboxEvent.Status.FAILED : OutboxEvent.Status.PENDING,
+                    error.length() > 1000 ? error.substring(0, 1000) : error, retryAt);
+            if (giveUp) {
+                log.error("Outbox event {} ({}) failed {} times, giving up: ", event.getId(), event.getEventType(), attempts, e);
+            } else {
+                log.warn("Outbox event {} ({}) failed, retrying at {}: {}", event.getId(), event.getEventType(), retryAt, error);
+            }
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.OutboxEvent;
+
+/**
+ * Consumer of outbox events. Every handler bean that supports an event's type is called
+ * for it, so a new side effect is just another handler. All handlers of an event run in
+ * one shared transaction that also marks the event DONE, so if any of them throws, the
+ * work of the others is rolled back and every handler is called again on the retry.
+ * Delivery is at least once, and a handler must be idempotent: it may see the same event
+ * again after its own failure or after a failure in any other handler of that event.
+ */
+public interface OutboxEventHandler {
+
+    boolean supports(OutboxEvent.EventType eventType);
+
+    void handle(OutboxEvent event) throws Exception;
+}
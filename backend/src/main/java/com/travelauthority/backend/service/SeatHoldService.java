@@ -0,0 +1,187 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.SeatHoldRequestDTO;
+import com.travelauthority.backend.dto.SeatHoldResponseDTO;
+import com.travelauthority.backend.entity.SeatHold;
+import com.travelauthority.backend.repository.SeatHoldRepository;
+import com.travelauthority.backend.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Short-lived seat holds taken while a user fills in checkout details.
+ * A hold reserves its seats in the occupancy counters straight away, so it counts
+ * against availability like a booking. Holds are stored in the seat_holds table, so a
+ * hold ID works on every backend node and survives a restart. Unclaimed holds are
+ * released by a scheduled sweep; each hold is deleted with a conditional statement in the
+ * same transaction that moves its seats, so its seats are handed on exactly once even when
+ * several nodes sweep at the same time.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatHoldService {
+
+    private final SeatHoldRepository seatHoldRepository;
+    private final UserRepository userRepository;
+    private final BookingOccupancyService occupancyService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${booking.hold.ttl-seconds:600}")
+    private long holdTtlSeconds;
+
+    @Value("${booking.hold.max-per-user:3}")
+    private int maxHoldsPerUser;
+
+    @Value("${booking.hold.sweep-batch-size:200}")
+    private int sweepBatchSize;
+
+    @Transactional
+    public SeatHoldResponseDTO createHold(SeatHoldRequestDTO request, String userEmail) {
+        if (request.getActivityId() == null || request.getBookingDate() == null) {
+            throw new RuntimeException("Activity ID and booking date are required");
+        }
+        if (request.getCount() == null || request.getCount() <= 0) {
+            throw new RuntimeException("Hold count must be greater than zero");
+        }
+
+        validateBookingDate(request.getBookingDate());
+        if (request.getCount() > occupancyService.getCapacity(request.getActivityId(), request.getPackageId())) {
+            throw new RuntimeException("Hold count exceeds the capacity of the selected package");
+        }
+
+        // The user's row lock makes the cap check and the new hold one step across nodes
+        userRepository.lockByEmail(userEmail)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        LocalDateTime now = LocalDateTime.now();
+        if (seatHoldRepository.countByUserEmailAndExpiresAtAfter(userEmail, now) >= maxHoldsPerUser) {
+            throw new RuntimeException("You already have " + maxHoldsPerUser + " active seat holds");
+        }
+
+        if (!occupancyService.tryReserve(request.getActivityId(), request.getPackageId(),
+                request.getBookingDate(), request.getCount())) {
+            throw new RuntimeException("Not enough availability for the selected date");
+        }
+
+        SeatHold hold = seatHoldRepository.save(SeatHold.builder()
+                .id(UUID.randomUUID().toString())
+                .userEmail(userEmail)
+                .activityId(request.getActivityId())
+                .packageId(request.getPackageId())
+                .bookingDate(request.getBookingDate())
+                .count(request.getCount())
+                .createdAt(now)
+                .expiresAt(now.plusSeconds(holdTtlSeconds))
+                .build());
+
+        log.info("Seat hold {} created for {}: {} spots on activity {} ({})",
+                hold.getId(), userEmail, hold.getCount(), hold.getActivityId(), hold.getBookingDate());
+        return toResponseDTO(hold);
+    }
+
+    /**
+     * Cancel a hold before it expires, e.g. when the user leaves checkout.
+     */
+    @Transactional
+    public void releaseHold(String holdId, String userEmail) {
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new RuntimeException("Seat hold not found or already expired"));
+        if (!hold.getUserEmail().equals(userEmail)) {
+            throw new RuntimeException("You don't have permission to release this hold");
+        }
+        if (seatHoldRepository.release(holdId) == 0) {
+            throw new RuntimeException("Seat hold not found or already expired");
+        }
+        occupancyService.releaseSeats(hold.getActivityId(), hold.getPackageId(),
+                hold.getBookingDate(), hold.getCount());
+    }
+
+    /**
+     * Turn a hold into the booking being created in the current transaction. The hold's
+     * seats are already counted, so no capacity check is needed. The hold row is deleted in
+     * that transaction, so it comes back if the booking rolls back.
+     */
+    @Transactional
+    public void claimHold(String holdId, String userEmail, Integer activityId, Long packageId,
+                          String bookingDate, Integer count) {
+        SeatHold hold = seatHoldRepository.findById(holdId)
+                .orElseThrow(() -> new RuntimeException("Seat hold not found or already expired"));
+        if (!hold.getUserEmail().equals(userEmail)) {
+            throw new RuntimeException("Seat hold belongs to another user");
+        }
+        if (!hold.getActivityId().equals(activityId) || !Objects.equals(hold.getPackageId(), packageId)
+                || !hold.getBookingDate().equals(bookingDate) || !hold.getCount().equals(count)) {
+            throw new RuntimeException("Booking details do not match the seat hold");
+        }
+        if (seatHoldRepository.claim(holdId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Seat hold has expired");
+        }
+    }
+
+    /**
+     * Release expired holds in batches, each hold in its own short transaction.
+     */
+    @Scheduled(fixedDelayString = "${booking.hold.sweep-interval-ms:5000}")
+    public void releaseExpiredHolds() {
+        PageRequest batch = PageRequest.of(0, sweepBatchSize);
+        List<String> expiredIds;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            expiredIds = seatHoldRepository.findExpiredIds(now, batch);
+            for (String holdId : expiredIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> expire(holdId, now));
+                } catch (Exception e) {
+                    log.error("Error releasing expired seat hold {}: ", holdId, e);
+                }
+            }
+        } while (expiredIds.size() == sweepBatchSize);
+    }
+
+    private void expire(String holdId, LocalDateTime now) {
+        SeatHold hold = seatHoldRepository.findById(holdId).orElse(null);
+        // Claimed, released or swept by another node since it was listed
+        if (hold == null || seatHoldRepository.expire(holdId, now) == 0) {
+            return;
+        }
+        occupancyService.releaseSeats(hold.getActivityId(), hold.getPackageId(),
+                hold.getBookingDate(), hold.getCount());
+        log.info("Seat hold {} expired, released {} spots", holdId, hold.getCount());
+    }
+
+    private void validateBookingDate(String bookingDate) {
+        LocalDate date;
+        try {
+            date = LocalDate.parse(bookingDate);
+        } catch (DateTimeParseException e) {
+            throw new RuntimeException("Booking date must be a valid date (yyyy-MM-dd)");
+        }
+        if (date.isBefore(LocalDate.now())) {
+            throw new RuntimeException("Booking date cannot be in the past");
+        }
+    }
+
+    private SeatHoldResponseDTO toResponseDTO(SeatHold hold) {
+        return SeatHoldResponseDTO.builder()
+                .holdId(hold.getId())
+                .activityId(hold.getActivityId())
+                .packageId(hold.getPackageId())
+                .bookingDate(hold.getBookingDate())
+                .count(hold.getCount())
+                .expiresAt(hold.getExpiresAt())
+                .build();
+    }
+}
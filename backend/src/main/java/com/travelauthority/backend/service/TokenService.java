@@ -0,0 +1,276 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.AuthPrincipal;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies signed login tokens. A token is the Base64URL payload
+ * {@code userId:role:issuedAt:expiresAt:email} followed by a dot and its HMAC-SHA256
+ * signature, so it is checked without touching the database.
+ *
+ * Stream tokens have the same format with a {@code stream:} prefix on the payload and a
+ * lifetime of seconds. They let a browser EventSource, which cannot send an Authorization
+ * header, open the notification stream with the token in the URL. Each kind is rejected
+ * where the other is expected, so a stream token that leaks from a URL is no login token.
+ *
+ * Verified tokens are kept in a bounded LRU cache, so a client repeating the same token
+ * skips the HMAC as well. Revocations are stored on the user row and cached per user for
+ * a short while, so a revocation reaches every node within that refresh interval.
+ *
+ * Tokens of the old unsigned {@code userId:email:timestamp} format can be forged by
+ * anyone, so they are rejected unless auth.token.accept-legacy is set, and even then only
+ * until their own timestamp plus the token TTL.
+ */
+@Service
+@Slf4j
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String STREAM_PREFIX = "stream:";
+
+    private final UserRepository userRepository;
+    private final SecretKeySpec key;
+    private final long ttlMillis;
+    private final long streamTtlMillis;
+    private final boolean acceptLegacy;
+    private final int maxEntries;
+    private final long revocationRefreshMillis;
+    private final Map<String, AuthPrincipal> verified;
+
+    // Per user, the time at or before which issued tokens are rejected, as last read from the database
+    private final Map<Integer, Revocation> revocations;
+
+    // Mac instances are not thread-safe
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::newMac);
+
+    public TokenService(UserRepository userRepository,
+                        @Value("${auth.token.secret:}") String secret,
+                        @Value("${auth.token.ttl-seconds:43200}") long ttlSeconds,
+                        @Value("${auth.token.accept-legacy:false}") boolean acceptLegacy,
+                        @Value("${auth.token.cache.max-entries:10000}") int maxEntries,
+                        @Value("${auth.token.revocation.refresh-seconds:60}") long revocationRefreshSeconds,
+                        @Value("${auth.token.stream.ttl-seconds:60}") long streamTtlSeconds) {
+        this.userRepository = userRepository;
+        this.key = new SecretKeySpec(secretBytes(secret), ALGORITHM);
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.streamTtlMillis = TimeUnit.SECONDS.toMillis(streamTtlSeconds);
+        this.acceptLegacy = acceptLegacy;
+        this.maxEntries = maxEntries;
+        this.revocationRefreshMillis = TimeUnit.SECONDS.toMillis(revocationRefreshSeconds);
+        // Access-ordered, so the eldest entry is the least recently used one
+        this.verified = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, AuthPrincipal> eldest) {
+                return size() > TokenService.this.maxEntries;
+            }
+        };
+        this.revocations = new LinkedHashMap<>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Revocation> eldest) {
+                return size() > TokenService.this.maxEntries;
+            }
+        };
+    }
+
+    public String issue(User user) {
+        return sign(user, "", ttlMillis);
+    }
+
+    /**
+     * A stream token for the user, valid for auth.token.stream.ttl-seconds.
+     */
+    public String issueStreamToken(User user) {
+        return sign(user, STREAM_PREFIX, streamTtlMillis);
+    }
+
+    public long getStreamTtlSeconds() {
+        return TimeUnit.MILLISECONDS.toSeconds(streamTtlMillis);
+    }
+
+    /**
+     * The principal a token was issued to, or null if the token is malformed, forged,
+     * expired or revoked.
+     */
+    public AuthPrincipal verify(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+
+        AuthPrincipal principal;
+        synchronized (verified) {
+            principal = verified.get(token);
+        }
+        if (principal == null) {
+            principal = token.indexOf('.') >= 0 ? verifySigned(token, "") : verifyLegacy(token, now);
+            if (principal == null) {
+                return null;
+            }
+            synchronized (verified) {
+                verified.put(token, principal);
+            }
+        }
+
+        if (principal.isExpired(now) || isRevoked(principal, now)) {
+            synchronized (verified) {
+                verified.remove(token);
+            }
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * The principal a stream token was issued to, or null if it is not a valid, unexpired
+     * and unrevoked stream token. Not cached: a stream token is used once per connection.
+     */
+    public AuthPrincipal verifyStreamToken(String token) {
+        if (token == null || token.indexOf('.') < 0) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        AuthPrincipal principal = verifySigned(token, STREAM_PREFIX);
+        if (principal == null || principal.isExpired(now) || isRevoked(principal, now)) {
+            return null;
+        }
+        return principal;
+    }
+
+    /**
+     * Reject every token the user holds so far. Signed tokens carry the role and email, so
+     * this is what makes a role or email change, or a deleted account, take effect before
+     * the old token expires. Other nodes pick it up within the revocation refresh interval.
+     */
+    public void revokeUser(int userId) {
+        long now = System.currentTimeMillis();
+        userRepository.revokeTokens(userId, now);
+        synchronized (revocations) {
+            revocations.put(userId, new Revocation(now, now));
+        }
+    }
+
+    private boolean isRevoked(AuthPrincipal principal, long now) {
+        Revocation revocation;
+        synchronized (revocations) {
+            revocation = revocations.get(principal.userId());
+        }
+        if (revocation == null || now - revocation.loadedAtMillis() >= revocationRefreshMillis) {
+            // A user that no longer exists has every token revoked
+            long validAfter = userRepository.findTokensValidAfter(principal.userId()).orElse(Long.MAX_VALUE);
+            revocation = new Revocation(validAfter, now);
+            synchronized (revocations) {
+                revocations.put(principal.userId(), revocation);
+            }
+        }
+        return principal.issuedAtMillis() <= revocation.validAfterMillis();
+    }
+
+    private String sign(User user, String prefix, long lifetimeMillis) {
+        long now = System.currentTimeMillis();
+        String payload = prefix + user.getId() + ":" + user.getRole().name() + ":" + now + ":"
+                + (now + lifetimeMillis) + ":" + user.getEmail();
+        String encodedPayload = encode(payload.getBytes(StandardCharsets.UTF_8));
+        return encodedPayload + "." + encode(sign(encodedPayload));
+    }
+
+    // prefix is "" for a login token and STREAM_PREFIX for a stream token
+    private AuthPrincipal verifySigned(String token, String prefix) {
+        try {
+            int dot = token.indexOf('.');
+            String encodedPayload = token.substring(0, dot);
+            byte[] signature = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+            if (!MessageDigest.isEqual(sign(encodedPayload), signature)) {
+                return null;
+            }
+
+            String decoded = new String(Base64.getUrlDecoder().decode(encodedPayload), StandardCharsets.UTF_8);
+            boolean isStreamToken = decoded.startsWith(STREAM_PREFIX);
+            if (isStreamToken != !prefix.isEmpty()) {
+                return null;
+            }
+            String[] parts = decoded.substring(prefix.length()).split(":", 5);
+            if (parts.length < 5) {
+                return null;
+            }
+            return new AuthPrincipal(Integer.parseInt(parts[0]), parts[4], User.Role.valueOf(parts[1]),
+                    Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private AuthPrincipal verifyLegacy(String token, long now) {
+        if (!acceptLegacy) {
+            return null;
+        }
+        try {
+            String[] parts = new String(Base64.getDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length < 3) {
+                return null;
+            }
+            // Valid for one TTL from when it was issued, like a signed token
+            long issuedAt = Long.parseLong(parts[2]);
+            if (issuedAt > now || now >= issuedAt + ttlMillis) {
+                return null;
+            }
+            Optional<User> user = userRepository.findById(Integer.parseInt(parts[0]));
+            if (user.isEmpty() || !user.get().getEmail().equals(parts[1])) {
+                return null;
+            }
+            return new AuthPrincipal(user.get().getId(), user.get().getEmail(), user.get().getRole(),
+                    issuedAt, issuedAt + ttlMillis);
+        } catch (IllegalArgumentException e) {
+            log.debug("Rejected malformed legacy token: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private byte[] sign(String encodedPayload) {
+        return macs.get().doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+
+    private record Revocation(long validAfterMillis, long loadedAtMillis) {
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] secretBytes(String secret) {
+        if (secret != null && !secret.isBlank()) {
+            return secret.getBytes(StandardCharsets.UTF_8);
+        }
+        // Without a configured secret every restart invalidates issued tokens
+        log.warn("auth.token.secret is not set, using a random key for this run");
+        byte[] random = new byte[32];
+        new SecureRandom().nextBytes(random);
+        return random;
+    }
+}
@@ -2,8 +2,9 @@ package com.travelauthority.backend.service;
 
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.dto.UserProfileDTO;
+import com.travelauthority.backend.entity.User;
 
 public interface UserProfileService {
-    ResponseDTO getUserProfileByToken(String token);
+    ResponseDTO getUserProfile(User user);
     ResponseDTO updateUserProfile(int userId, UserProfileDTO profileDTO);
 }
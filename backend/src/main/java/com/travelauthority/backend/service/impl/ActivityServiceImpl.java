@@ -1,20 +1,25 @@
 package com.travelauthority.backend.service.impl;
 
 import com.travelauthority.backend.dto.ActivityDTO;
+import com.travelauthority.backend.dto.CacheStatsDTO;
 import com.travelauthority.backend.dto.PackageDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.entity.Activity;
 import com.travelauthority.backend.entity.Package;
+import com.travelauthority.backend.event.DashboardChangedEvent;
 import com.travelauthority.backend.repository.ActivityRepository;
 import com.travelauthority.backend.repository.BookingRepository;
 import com.travelauthority.backend.repository.PackageRepository;
+import com.travelauthority.backend.service.ActivityCatalogCache;
 import com.travelauthority.backend.service.ActivityService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -29,6 +34,12 @@ public class ActivityServiceImpl implements ActivityService {
     
     @Autowired
     private PackageRepository packageRepository;
+    
+    @Autowired
+    private ActivityCatalogCache catalogCache;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
 
     private ActivityDTO toDTO(Activity activity) {
         return ActivityDTO.builder()
@@ -42,8 +53,9 @@ public class ActivityServiceImpl implements ActivityService {
             .description(activity.getDescription())
             .duration(activity.getDuration())
             .additionalInfo(activity.getAdditionalInfo())
-            .highlights(activity.getHighlights())
-            .categories(activity.getCategories())
+            // Copy the lazy collections so the DTO stays usable after the session closes (it may be cached)
+            .highlights(activity.getHighlights() != null ? new ArrayList<>(activity.getHighlights()) : null)
+            .categories(activity.getCategories() != null ? new ArrayList<>(activity.getCategories()) : null)
             .packages(activity.getPackages() != null ? 
                 activity.getPackages().stream().map(this::packageToDTO).collect(Collectors.toList()) : null)
             .active(activity.getActive())
@@ -62,7 +74,7 @@ public class ActivityServiceImpl implements ActivityService {
             .foreignKidPrice(pkg.getForeignKidPrice())
             .localAdultPrice(pkg.getLocalAdultPrice())
             .localKidPrice(pkg.getLocalKidPrice())
-            .features(pkg.getFeatures())
+            .features(pkg.getFeatures() != null ? new ArrayList<>(pkg.getFeatures()) : null)
             // Temporarily remove images
             // .images(pkg.getImages() != null ? pkg.getImages() : new ArrayList<>())
             .build();
@@ -169,6 +181,8 @@ public class ActivityServiceImpl implements ActivityService {
             }
             
             Activity savedActivity = activityRepository.save(activity);
+            catalogCache.invalidateActivity(savedActivity.getId(), savedActivity.getCreatedBy());
+            eventPublisher.publishEvent(DashboardChangedEvent.activityAdded());
             responseDTO.setData(toDTO(savedActivity));
             responseDTO.setMessage("Activity saved successfully");
             responseDTO.setStatus("CREATED");
@@ -186,8 +200,8 @@ public class ActivityServiceImpl implements ActivityService {
     public ResponseDTO<List<ActivityDTO>> getAllActivities() {
         ResponseDTO<List<ActivityDTO>> responseDTO = new ResponseDTO<>();
         try {
-            List<Activity> activities = activityRepository.findAll();
-            List<ActivityDTO> dtos = activities.stream().map(this::toDTO).collect(Collectors.toList());
+            List<ActivityDTO> dtos = catalogCache.get(ActivityCatalogCache.allKey(), () ->
+                    activityRepository.findAllWithPackages().stream().map(this::toDTO).collect(Collectors.toList()));
             responseDTO.setData(dtos);
             responseDTO.setMessage("Activities retrieved successfully");
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -204,8 +218,8 @@ public class ActivityServiceImpl implements ActivityService {
     public ResponseDTO<List<ActivityDTO>> getActiveActivities() {
         ResponseDTO<List<ActivityDTO>> responseDTO = new ResponseDTO<>();
         try {
-            List<Activity> activities = activityRepository.findByActiveTrue();
-            List<ActivityDTO> dtos = activities.stream().map(this::toDTO).collect(Collectors.toList());
+            List<ActivityDTO> dtos = catalogCache.get(ActivityCatalogCache.activeKey(), () ->
+                    activityRepository.findWithPackagesByActiveTrue().stream().map(this::toDTO).collect(Collectors.toList()));
             responseDTO.setData(dtos);
             responseDTO.setMessage("Active activities retrieved successfully");
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -223,9 +237,11 @@ public class ActivityServiceImpl implements ActivityService {
     public ResponseDTO<ActivityDTO> getActivityById(int id) {
         ResponseDTO<ActivityDTO> responseDTO = new ResponseDTO<>();
         try {
-            Optional<Activity> activity = activityRepository.findById(id);
+            // Missing activities are cached as an empty Optional too
+            Optional<ActivityDTO> activity = catalogCache.get(ActivityCatalogCache.activityKey(id), () ->
+                    activityRepository.findWithPackagesById(id).map(this::toDTO));
             if (activity.isPresent()) {
-                responseDTO.setData(toDTO(activity.get()));
+                responseDTO.setData(activity.get());
                 responseDTO.setMessage("Activity retrieved successfully");
                 responseDTO.setStatus(HttpStatus.OK.toString());
             } else {
@@ -281,6 +297,7 @@ public class ActivityServiceImpl implements ActivityService {
                 
                 log.info("Saving updated activity");
                 Activity savedActivity = activityRepository.save(activity);
+                catalogCache.invalidateActivity(id, existingActivity.getCreatedBy(), savedActivity.getCreatedBy());
                 responseDTO.setData(toDTO(savedActivity));
                 responseDTO.setMessage("Activity updated successfully");
                 responseDTO.setStatus(HttpStatus.OK.toString());
@@ -307,6 +324,8 @@ public class ActivityServiceImpl implements ActivityService {
             Optional<Activity> activity = activityRepository.findById(id);
             if (activity.isPresent()) {
                 activityRepository.deleteById(id);
+                catalogCache.invalidateActivity(id, activity.get().getCreatedBy());
+                eventPublisher.publishEvent(DashboardChangedEvent.activityRemoved());
                 responseDTO.setMessage("Activity deleted successfully");
                 responseDTO.setStatus(HttpStatus.OK.toString());
             } else {
@@ -335,6 +354,8 @@ public class ActivityServiceImpl implements ActivityService {
             }
             
             activityRepository.deleteAll();
+            catalogCache.clear();
+            eventPublisher.publishEvent(DashboardChangedEvent.reset());
             responseDTO.setMessage("All " + count + " activities deleted successfully");
             responseDTO.setStatus(HttpStatus.OK.toString());
             log.info("All {} activities deleted successfully", count);
@@ -352,8 +373,8 @@ public class ActivityServiceImpl implements ActivityService {
         ResponseDTO<List<ActivityDTO>> responseDTO = new ResponseDTO<>();
         try {
             log.info("Retrieving activities for owner: {}", ownerEmail);
-            List<Activity> activities = activityRepository.findByCreatedBy(ownerEmail);
-            List<ActivityDTO> dtos = activities.stream().map(this::toDTO).collect(Collectors.toList());
+            List<ActivityDTO> dtos = catalogCache.get(ActivityCatalogCache.ownerKey(ownerEmail), () ->
+                    activityRepository.findWithPackagesByCreatedBy(ownerEmail).stream().map(this::toDTO).collect(Collectors.toList()));
             responseDTO.setData(dtos);
             responseDTO.setMessage("Owner activities retrieved successfully");
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -373,8 +394,8 @@ public class ActivityServiceImpl implements ActivityService {
         ResponseDTO<List<ActivityDTO>> responseDTO = new ResponseDTO<>();
         try {
             log.info("Retrieving active activities for owner: {}", ownerEmail);
-            List<Activity> activities = activityRepository.findByCreatedByAndActiveTrue(ownerEmail);
-            List<ActivityDTO> dtos = activities.stream().map(this::toDTO).collect(Collectors.toList());
+            List<ActivityDTO> dtos = catalogCache.get(ActivityCatalogCache.ownerActiveKey(ownerEmail), () ->
+                    activityRepository.findWithPackagesByCreatedByAndActiveTrue(ownerEmail).stream().map(this::toDTO).collect(Collectors.toList()));
             responseDTO.setData(dtos);
             responseDTO.setMessage("Active owner activities retrieved successfully");
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -388,4 +409,13 @@ public class ActivityServiceImpl implements ActivityService {
         }
         return responseDTO;
     }
+    
+    @Override
+    public ResponseDTO<CacheStatsDTO> getCatalogCacheStats() {
+        ResponseDTO<CacheStatsDTO> responseDTO = new ResponseDTO<>();
+        responseDTO.setData(catalogCache.getStats());
+        responseDTO.setMessage("Activity catalog cache stats retrieved successfully");
+        responseDTO.setStatus(HttpStatus.OK.toString());
+        return responseDTO;
+    }
 }
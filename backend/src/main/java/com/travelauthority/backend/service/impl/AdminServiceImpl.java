@@ -4,18 +4,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
+import com.travelauthority.backend.dto.AuthPrincipal;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.entity.Booking;
 import com.travelauthority.backend.entity.User;
-import com.travelauthority.backend.repository.ActivityRepository;
 import com.travelauthority.backend.repository.BookingRepository;
-import com.travelauthority.backend.repository.OfferRepository;
 import com.travelauthority.backend.repository.UserRepository;
 import com.travelauthority.backend.service.AdminService;
+import com.travelauthority.backend.service.DashboardSnapshot;
+import com.travelauthority.backend.service.TokenService;
 
 import lombok.extern.slf4j.Slf4j;
 
-import java.util.Base64;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -28,50 +28,28 @@ public class AdminServiceImpl implements AdminService {
     private UserRepository userRepository;
     
     @Autowired
-    private ActivityRepository activityRepository;
+    private BookingRepository bookingRepository;
     
     @Autowired
-    private BookingRepository bookingRepository;
+    private DashboardSnapshot dashboardSnapshot;
     
     @Autowired
-    private OfferRepository offerRepository;
+    private TokenService tokenService;
 
     @Override
-    public ResponseDTO getDashboardData(String token) {
+    public ResponseDTO getDashboardData(AuthPrincipal principal) {
         ResponseDTO responseDTO = new ResponseDTO();
         
         try {
-            // Verify token and check admin access
-            if (!isAdmin(token)) {
+            // Check admin access
+            if (!isAdmin(principal)) {
                 responseDTO.setStatus(HttpStatus.FORBIDDEN.toString());
                 responseDTO.setMessage("Unauthorized: Admin access required");
                 return responseDTO;
             }
             
-            // Get dashboard statistics
-            Map<String, Object> dashboardData = new HashMap<>();
-            
-            // Count total users
-            long totalUsers = userRepository.count();
-            dashboardData.put("totalUsers", totalUsers);
-            
-            // Count total activities
-            long totalActivities = activityRepository.count();
-            dashboardData.put("totalActivities", totalActivities);
-            
-            // Count total bookings
-            long totalBookings = bookingRepository.count();
-            dashboardData.put("totalBookings", totalBookings);
-            
-            // Get total revenue
-            Double totalRevenue = bookingRepository.getTotalRevenue();
-            dashboardData.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
-            
-            // Count bookings by status
-            for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
-                Long count = bookingRepository.countByStatus(status);
-                dashboardData.put("bookingsBy" + status.name(), count != null ? count : 0);
-            }
+            // Served from the in-memory snapshot kept up to date by write events
+            Map<String, Object> dashboardData = dashboardSnapshot.getDashboardData();
             
             responseDTO.setData(dashboardData);
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -118,6 +96,9 @@ public class AdminServiceImpl implements AdminService {
             // Save updated user
             userRepository.save(user);
             
+            // Tokens carry the role, so the user's current ones must not keep the old one
+            tokenService.revokeUser(user.getId());
+            
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("User role updated successfully");
             
@@ -138,11 +119,11 @@ public class AdminServiceImpl implements AdminService {
     }
 
     @Override
-    public ResponseDTO checkAdminAccess(String token) {
+    public ResponseDTO checkAdminAccess(AuthPrincipal principal) {
         ResponseDTO responseDTO = new ResponseDTO();
         
         try {
-            boolean isAdmin = isAdmin(token);
+            boolean isAdmin = isAdmin(principal);
             
             Map<String, Object> accessData = new HashMap<>();
             accessData.put("isAdmin", isAdmin);
@@ -161,11 +142,11 @@ public class AdminServiceImpl implements AdminService {
     }
     
     @Override
-    public ResponseDTO checkTravelActivityOwnerAccess(String token) {
+    public ResponseDTO checkTravelActivityOwnerAccess(AuthPrincipal principal) {
         ResponseDTO responseDTO = new ResponseDTO();
         
         try {
-            boolean isOwner = isOwner(token);
+            boolean isOwner = isOwner(principal);
             
             Map<String, Object> accessData = new HashMap<>();
             accessData.put("isOwner", isOwner);
@@ -184,60 +165,54 @@ public class AdminServiceImpl implements AdminService {
     }
     
     @Override
-    public ResponseDTO getTravelOwnerDashboardData(String token) {
+    public ResponseDTO getTravelOwnerDashboardData(AuthPrincipal principal) {
         ResponseDTO responseDTO = new ResponseDTO();
         
         try {
-            // Verify token and check travel activity owner access
-            if (!isOwner(token)) {
+            // Check travel activity owner access
+            if (!isOwner(principal)) {
                 responseDTO.setStatus(HttpStatus.FORBIDDEN.toString());
                 responseDTO.setMessage("Unauthorized: Travel activity owner access required");
                 return responseDTO;
             }
             
-            // Get user details from token
-            String decodedToken = new String(Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            int userId = Integer.parseInt(parts[0]);
-            Optional<User> userOptional = userRepository.findById(userId);
+            String ownerEmail = principal.email();
             
-            if (userOptional.isEmpty()) {
-                responseDTO.setStatus(HttpStatus.NOT_FOUND.toString());
-                responseDTO.setMessage("User not found");
-                return responseDTO;
-            }
-            
-            User user = userOptional.get();
-            String ownerEmail = user.getEmail();
-            
-            // Get dashboard statistics for this owner
+            // Get dashboard statistics for this owner in one grouped query
             Map<String, Object> dashboardData = new HashMap<>();
+            long ownerActivities = 0;
+            long ownerOffers = 0;
+            long selectedOffers = 0;
+            long totalBookings = 0;
+            double totalRevenue = 0.0;
+            Map<String, Long> bookingsByStatus = new HashMap<>();
+            for (Object[] row : bookingRepository.getOwnerDashboardAggregates(ownerEmail)) {
+                String metric = (String) row[0];
+                long count = ((Number) row[1]).longValue();
+                switch (metric) {
+                    case "ACTIVITIES" -> ownerActivities = count;
+                    case "OFFERS" -> ownerOffers = count;
+                    case "SELECTED_OFFERS" -> selectedOffers = count;
+                    default -> {
+                        bookingsByStatus.put(metric, count);
+                        totalBookings += count;
+                        // Revenue counts confirmed and completed bookings only
+                        if (metric.equals(Booking.BookingStatus.CONFIRMED.name())
+                                || metric.equals(Booking.BookingStatus.COMPLETED.name())) {
+                            totalRevenue += ((Number) row[2]).doubleValue();
+                        }
+                    }
+                }
+            }
             
-            // Count owner's activities
-            long ownerActivities = activityRepository.countByCreatedBy(ownerEmail);
             dashboardData.put("ownerActivities", ownerActivities);
-            
-            // Count owner's offers
-            long ownerOffers = offerRepository.countByCreatedBy(ownerEmail);
             dashboardData.put("ownerOffers", ownerOffers);
-            
-            // Count selected offers for homepage
-            long selectedOffers = offerRepository.countByCreatedByAndSelectedForHomepageTrue(ownerEmail);
             dashboardData.put("selectedOffers", selectedOffers);
-            
-            // Add booking statistics for the owner
-            long totalBookings = bookingRepository.countBookingsByActivityOwner(ownerEmail);
             dashboardData.put("totalBookings", totalBookings);
-            
-            // Count bookings by status
             for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
-                Long count = bookingRepository.countBookingsByActivityOwnerAndStatus(ownerEmail, status);
-                dashboardData.put("bookingsBy" + status.name(), count != null ? count : 0);
+                dashboardData.put("bookingsBy" + status.name(), bookingsByStatus.getOrDefault(status.name(), 0L));
             }
-            
-            // Get total revenue for this owner's activities
-            Double totalRevenue = bookingRepository.getTotalRevenueByActivityOwner(ownerEmail);
-            dashboardData.put("totalRevenue", totalRevenue != null ? totalRevenue : 0.0);
+            dashboardData.put("totalRevenue", totalRevenue);
             
             responseDTO.setData(dashboardData);
             responseDTO.setStatus(HttpStatus.OK.toString());
@@ -253,60 +228,16 @@ public class AdminServiceImpl implements AdminService {
     }
 
     /**
-     * Check if the token belongs to an admin user
+     * Check if the caller is an admin user
      */
-    private boolean isAdmin(String token) {
-        try {
-            // Decode token to get user ID
-            String decodedToken = new String(Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                return false;
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            Optional<User> userOptional = userRepository.findById(userId);
-            
-            if (userOptional.isEmpty()) {
-                return false;
-            }
-            
-            User user = userOptional.get();
-            return user.isAdmin();
-            
-        } catch (Exception e) {
-            log.error("Error validating admin token: {}", e.getMessage());
-            return false;
-        }
+    private boolean isAdmin(AuthPrincipal principal) {
+        return principal != null && principal.isAdmin();
     }
     
     /**
-     * Check if the token belongs to a travel activity owner
+     * Check if the caller is a travel activity owner
      */
-    private boolean isOwner(String token) {
-        try {
-            // Decode token to get user ID
-            String decodedToken = new String(Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                return false;
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            Optional<User> userOptional = userRepository.findById(userId);
-            
-            if (userOptional.isEmpty()) {
-                return false;
-            }
-            
-            User user = userOptional.get();
-            return user.isTravelActivityOwner();
-            
-        } catch (Exception e) {
-            log.error("Error validating travel activity owner token: {}", e.getMessage());
-            return false;
-        }
+    private boolean isOwner(AuthPrincipal principal) {
+        return principal != null && principal.isTravelActivityOwner();
     }
 }
@@ -1,6 +1,7 @@
 package com.travelauthority.backend.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -9,8 +10,10 @@ import com.travelauthority.backend.dto.AuthDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.dto.UserDTO;
 import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.event.DashboardChangedEvent;
 import com.travelauthority.backend.repository.UserRepository;
 import com.travelauthority.backend.service.AuthService;
+import com.travelauthority.backend.service.TokenService;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -26,16 +29,12 @@ public class AuthServiceImpl implements AuthService {    @Autowired
     @Autowired
     private BCryptPasswordEncoder passwordEncoder;
     
-    /**
-     * Generate a simple token for demonstration purposes.
-     * In a production application, this should be replaced with JWT or other secure token system.
-     */
-    private String generateToken(int userId, String email) {
-        // Simple implementation for demo - in production use JWT
-        String baseToken = userId + ":" + email + ":" + System.currentTimeMillis();
-        return java.util.Base64.getEncoder().encodeToString(baseToken.getBytes());
-    }
-
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TokenService tokenService;
+    
     @Override
     public ResponseDTO register(UserDTO userDTO) {
         ResponseDTO responseDTO = new ResponseDTO();
@@ -90,6 +89,7 @@ public class AuthServiceImpl implements AuthService {    @Autowired
             user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
             
             User savedUser = userRepository.save(user);
+            eventPublisher.publishEvent(DashboardChangedEvent.userAdded());
             
             // Return response without password
             UserDTO userResponse = new UserDTO();
@@ -154,8 +154,8 @@ public class AuthServiceImpl implements AuthService {    @Autowired
             // Log the birthdate and gender values being returned
             log.info("Login returning user profile with birthdate: {} and gender: {}", user.getBirthdate(), user.getGender());
             
-            // Generate a simple token (this should be replaced with JWT in production)
-            String token = generateToken(user.getId(), user.getEmail());
+            // Signed token carrying the user's ID, email and role
+            String token = tokenService.issue(user);
             userData.put("token", token);
             
             responseDTO.setData(userData);
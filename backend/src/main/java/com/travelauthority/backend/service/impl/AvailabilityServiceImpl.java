@@ -5,21 +5,26 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.travelauthority.backend.dto.AvailabilityCalendarDTO;
+import com.travelauthority.backend.dto.AvailabilityCalendarDayDTO;
 import com.travelauthority.backend.dto.AvailabilityCheckRequestDTO;
 import com.travelauthority.backend.dto.AvailabilityCheckResponseDTO;
+import com.travelauthority.backend.dto.PackageAvailabilityDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.entity.Activity;
-import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.BookingOccupancy;
 import com.travelauthority.backend.repository.ActivityRepository;
-import com.travelauthority.backend.repository.BookingRepository;
 import com.travelauthority.backend.service.AvailabilityService;
+import com.travelauthority.backend.service.BookingOccupancyService;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -27,11 +32,14 @@ import java.util.Optional;
 @Transactional
 public class AvailabilityServiceImpl implements AvailabilityService {
 
+    private static final int DEFAULT_CALENDAR_DAYS = 30;
+    private static final int MAX_CALENDAR_DAYS = 90;
+
     @Autowired
     private ActivityRepository activityRepository;
     
     @Autowired
-    private BookingRepository bookingRepository;
+    private BookingOccupancyService occupancyService;
 
     @Override
     public ResponseDTO<AvailabilityCheckResponseDTO> checkAvailability(AvailabilityCheckRequestDTO request) {
@@ -79,26 +87,14 @@ public class AvailabilityServiceImpl implements AvailabilityService {
             
             Activity activity = activityOpt.get();
             
-            // Get all bookings for this activity on the selected date
-            List<Booking> bookings = bookingRepository.findByActivityIdAndBookingDate(
-                    activity.getId(), request.getDate());
-            
-            // Calculate the total number of people already booked for this date
-            int totalBookedCount = 0;
-            
             // Debug information about the request
             log.info("Processing availability check with packageId: {}", request.getPackageId());
             
-            // If a package ID is specified, filter bookings for that specific package
+            // If a package ID is specified, check that package's occupancy
             if (request.getPackageId() != null && request.getPackageId() > 0) {
-                for (Booking booking : bookings) {
-                    // Only count bookings that are not cancelled and for this package
-                    if (booking.getStatus() != Booking.BookingStatus.CANCELLED && 
-                        booking.getPackageId() != null && 
-                        booking.getPackageId().equals(request.getPackageId())) {
-                        totalBookedCount += booking.getTotalPersons();
-                    }
-                }
+                // Number of people already booked for this package on this date (cancelled bookings excluded)
+                int totalBookedCount = occupancyService.getBookedCount(
+                        activity.getId(), request.getPackageId(), request.getDate());
                 
                 // Find package in the activity's packages
                 com.travelauthority.backend.entity.Package selectedPackage = null;
@@ -119,8 +115,10 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                 
                 log.info("Found package: {}, with availability: {}", selectedPackage.getName(), selectedPackage.getAvailability());
                 
-                // Use the package-specific availability
-                int packageAvailability = selectedPackage.getAvailability();
+                // A package booking is limited by the package's own availability only, the same
+                // rule BookingOccupancyService.tryReserve applies; a package without one has no seats
+                int packageAvailability = selectedPackage.getAvailability() != null
+                        ? selectedPackage.getAvailability() : 0;
                 int availableSpots = Math.max(0, packageAvailability - totalBookedCount);
                 
                 // Check if there's enough availability for the requested count
@@ -161,12 +159,8 @@ public class AvailabilityServiceImpl implements AvailabilityService {
                         activity.getId(), request.getPackageId(), request.getDate(), isAvailable, availableSpots);
             } else {
                 // If no package is specified, use the activity's general availability
-                for (Booking booking : bookings) {
-                    // Only count bookings that are not cancelled
-                    if (booking.getStatus() != Booking.BookingStatus.CANCELLED) {
-                        totalBookedCount += booking.getTotalPersons();
-                    }
-                }
+                int totalBookedCount = occupancyService.getBookedCount(
+                        activity.getId(), null, request.getDate());
                 
                 // Get the activity's total availability
                 int totalAvailability = activity.getAvailability();
@@ -218,4 +212,112 @@ public class AvailabilityServiceImpl implements AvailabilityService {
         
         return responseDTO;
     }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResponseDTO<AvailabilityCalendarDTO> getAvailabilityCalendar(Integer activityId, String fromDate, Integer days) {
+        ResponseDTO<AvailabilityCalendarDTO> responseDTO = new ResponseDTO<>();
+        
+        try {
+            if (activityId == null) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("Activity ID is required");
+                responseDTO.setSuccess(false);
+                return responseDTO;
+            }
+            
+            int dayCount = days != null ? days : DEFAULT_CALENDAR_DAYS;
+            if (dayCount < 1 || dayCount > MAX_CALENDAR_DAYS) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("Days must be between 1 and " + MAX_CALENDAR_DAYS);
+                responseDTO.setSuccess(false);
+                return responseDTO;
+            }
+            
+            LocalDate today = LocalDate.now();
+            LocalDate start;
+            try {
+                start = fromDate != null ? LocalDate.parse(fromDate) : today;
+            } catch (DateTimeParseException e) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("Invalid date format. Please use YYYY-MM-DD format");
+                responseDTO.setSuccess(false);
+                return responseDTO;
+            }
+            // Past dates cannot be booked, so the calendar never starts before today
+            if (start.isBefore(today)) {
+                start = today;
+            }
+            LocalDate end = start.plusDays(dayCount - 1L);
+            
+            Optional<Activity> activityOpt = activityRepository.findById(activityId);
+            if (activityOpt.isEmpty()) {
+                responseDTO.setStatus(HttpStatus.NOT_FOUND.toString());
+                responseDTO.setMessage("Activity not found");
+                responseDTO.setSuccess(false);
+                return responseDTO;
+            }
+            Activity activity = activityOpt.get();
+            
+            // One query for every counter of the activity in the window, indexed by date then package
+            Map<String, Map<Long, Integer>> bookedByDate = new HashMap<>();
+            for (BookingOccupancy slot : occupancyService.getSlots(activityId, start.toString(), end.toString())) {
+                bookedByDate.computeIfAbsent(slot.getBookingDate(), d -> new HashMap<>())
+                        .put(slot.getPackageId(), slot.getBookedCount());
+            }
+            
+            List<com.travelauthority.backend.entity.Package> packages =
+                    activity.getPackages() != null ? activity.getPackages() : List.of();
+            
+            List<AvailabilityCalendarDayDTO> calendarDays = new ArrayList<>(dayCount);
+            for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+                Map<Long, Integer> booked = bookedByDate.getOrDefault(date.toString(), Map.of());
+                
+                int activityBooked = booked.getOrDefault(BookingOccupancy.ACTIVITY_TOTAL, 0);
+                List<PackageAvailabilityDTO> packageAvailability = new ArrayList<>(packages.size());
+                for (com.travelauthority.backend.entity.Package pkg : packages) {
+                    // Same rule as tryReserve: a package is limited by its own availability only,
+                    // and a package without one has no seats
+                    int packageCapacity = pkg.getAvailability() != null ? pkg.getAvailability() : 0;
+                    int packageBooked = booked.getOrDefault(pkg.getId(), 0);
+                    packageAvailability.add(PackageAvailabilityDTO.builder()
+                            .packageId(pkg.getId())
+                            .packageName(pkg.getName())
+                            .totalAvailability(packageCapacity)
+                            .bookedCount(packageBooked)
+                            .availableSpots(Math.max(0, packageCapacity - packageBooked))
+                            .build());
+                }
+                
+                calendarDays.add(AvailabilityCalendarDayDTO.builder()
+                        .date(date.toString())
+                        .bookedCount(activityBooked)
+                        .availableSpots(Math.max(0, activity.getAvailability() - activityBooked))
+                        .packages(packageAvailability)
+                        .build());
+            }
+            
+            responseDTO.setData(AvailabilityCalendarDTO.builder()
+                    .activityId(activity.getId())
+                    .fromDate(start.toString())
+                    .toDate(end.toString())
+                    .totalAvailability(activity.getAvailability())
+                    .days(calendarDays)
+                    .build());
+            responseDTO.setStatus(HttpStatus.OK.toString());
+            responseDTO.setMessage("Availability calendar retrieved successfully");
+            responseDTO.setSuccess(true);
+            
+            log.info("Availability calendar for activity: {} from {} to {} ({} packages)",
+                    activityId, start, end, packages.size());
+            
+        } catch (Exception e) {
+            log.error("Error building availability calendar: ", e);
+            responseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.toString());
+            responseDTO.setMessage("Error building availability calendar: " + e.getMessage());
+            responseDTO.setSuccess(false);
+        }
+        
+        return responseDTO;
+    }
 }
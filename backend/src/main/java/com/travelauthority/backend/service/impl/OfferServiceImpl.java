@@ -1,19 +1,29 @@
 package com.travelauthority.backend.service.impl;
 
 import com.travelauthority.backend.dto.OfferDTO;
+import com.travelauthority.backend.dto.PackageOfferCheckDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.entity.Offer;
+import com.travelauthority.backend.event.OfferChangedEvent;
 import com.travelauthority.backend.repository.OfferRepository;
+import com.travelauthority.backend.service.OfferIndex;
 import com.travelauthority.backend.service.OfferService;
 import com.travelauthority.backend.service.NotificationService;
 import com.travelauthority.backend.dto.CreateNotificationDTO;
 import com.travelauthority.backend.entity.Notification;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import java.time.LocalDate;
@@ -22,9 +32,18 @@ import java.time.LocalDate;
 @Slf4j
 public class OfferServiceImpl implements OfferService {
 
+    private static final int MAX_BATCH_PACKAGES = 500;
+    private static final int MAX_BATCH_ACTIVITIES = 200;
+
     @Autowired
     private OfferRepository offerRepository;
 
+    @Autowired
+    private OfferIndex offerIndex;
+
+    // Homepage offers built from the offer index, replaced whenever the offers in effect change
+    private volatile List<OfferDTO> selectedOffers = List.of();
+
     // Add NotificationService (not autowired to avoid circular dependency)
     private NotificationService notificationService;
 
@@ -33,6 +52,33 @@ public class OfferServiceImpl implements OfferService {
         this.notificationService = notificationService;
     }
 
+    // Load the offer index once the application is up and again every offers.index.reload-ms,
+    // so offers created, edited or removed on other nodes show up here within that interval
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${offers.index.reload-ms:60000}",
+            initialDelayString = "${offers.index.reload-ms:60000}")
+    public void rebuildOfferIndex() {
+        offerIndex.rebuild(offerRepository.findActiveWithPackages().stream()
+                .map(this::mapToDTO)
+                .collect(Collectors.toList()), LocalDate.now());
+    }
+
+    // At midnight, so offers starting or ending that day take effect without waiting for a reload
+    @Scheduled(cron = "${offers.effective.refresh-cron:0 0 0 * * *}")
+    public void advanceOfferIndex() {
+        offerIndex.advanceTo(LocalDate.now());
+    }
+
+    // The index publishes this while holding its write lock, right after swapping in the new
+    // offers, so rebuilding here can never store a list older than the one it replaces
+    @EventListener
+    public void onOfferChanged(OfferChangedEvent event) {
+        selectedOffers = offerIndex.getEffectiveOffers().stream()
+                .filter(offer -> Boolean.TRUE.equals(offer.getSelectedForHomepage()))
+                .sorted(Comparator.comparingInt(OfferDTO::getId))
+                .collect(Collectors.toUnmodifiableList());
+    }
+
     @Override
     public ResponseDTO<OfferDTO> saveOffer(OfferDTO offerDTO) {
         ResponseDTO<OfferDTO> responseDTO = new ResponseDTO<>();
@@ -42,10 +88,12 @@ public class OfferServiceImpl implements OfferService {
             offer.setActive(true); // Default to active when created
             
             Offer savedOffer = offerRepository.save(offer);
+            OfferDTO savedOfferDTO = mapToDTO(savedOffer);
+            offerIndex.put(savedOfferDTO);
             
             responseDTO.setStatus(HttpStatus.CREATED.toString());
             responseDTO.setMessage("Offer created successfully");
-            responseDTO.setData(mapToDTO(savedOffer));
+            responseDTO.setData(savedOfferDTO);
             
             // --- Send notification for new offer ---
             if (notificationService != null) {
@@ -146,10 +194,8 @@ public class OfferServiceImpl implements OfferService {
         ResponseDTO<List<OfferDTO>> responseDTO = new ResponseDTO<>();
         
         try {
-            List<Offer> offers = offerRepository.findBySelectedForHomepageTrue();
-            List<OfferDTO> offerDTOs = offers.stream()
-                    .map(this::mapToDTO)
-                    .collect(Collectors.toList());
+            // Active, selected offers in effect today, built only when the offers in effect change
+            List<OfferDTO> offerDTOs = selectedOffers;
             
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("Selected homepage offers retrieved successfully");
@@ -233,10 +279,12 @@ public class OfferServiceImpl implements OfferService {
             }
             
             Offer updatedOffer = offerRepository.save(existingOffer);
+            OfferDTO updatedOfferDTO = mapToDTO(updatedOffer);
+            offerIndex.put(updatedOfferDTO);
             
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("Offer updated successfully");
-            responseDTO.setData(mapToDTO(updatedOffer));
+            responseDTO.setData(updatedOfferDTO);
             
             return responseDTO;
         } catch (Exception e) {
@@ -264,12 +312,14 @@ public class OfferServiceImpl implements OfferService {
             existingOffer.setSelectedForHomepage(selected);
             
             Offer updatedOffer = offerRepository.save(existingOffer);
+            OfferDTO updatedOfferDTO = mapToDTO(updatedOffer);
+            offerIndex.put(updatedOfferDTO);
             
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage(selected 
                 ? "Offer selected for homepage successfully" 
                 : "Offer removed from homepage successfully");
-            responseDTO.setData(mapToDTO(updatedOffer));
+            responseDTO.setData(updatedOfferDTO);
             
             return responseDTO;
         } catch (Exception e) {
@@ -292,6 +342,7 @@ public class OfferServiceImpl implements OfferService {
             }
             
             offerRepository.deleteById(id);
+            offerIndex.remove(id);
             
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("Offer deleted successfully");
@@ -311,6 +362,7 @@ public class OfferServiceImpl implements OfferService {
         
         try {
             offerRepository.deleteAll();
+            offerIndex.clear();
             
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("All offers deleted successfully");
@@ -335,44 +387,18 @@ public class OfferServiceImpl implements OfferService {
                 return responseDTO;
             }
             
-            // Get today's date
-            LocalDate today = LocalDate.now();
-            
-            // Find active offers for this activity and package
-            List<Offer> offers = offerRepository.findByActiveTrue()
-                .stream()
-                .filter(offer -> 
-                    // Match activity ID
-                    offer.getActivityId() != null && 
-                    offer.getActivityId().equals(activityId) &&
-                    // Check offer dates
-                    offer.getStartDate() != null &&
-                    offer.getEndDate() != null &&
-                    !today.isBefore(offer.getStartDate()) && 
-                    !today.isAfter(offer.getEndDate()) &&
-                    // Check selected packages
-                    offer.getSelectedPackages() != null &&
-                    offer.getSelectedPackages().contains(packageId))
-                .collect(Collectors.toList());
-            
-            if (offers.isEmpty()) {
+            // Highest-discount offer in effect for this package, from the offer index
+            OfferDTO bestOffer = offerIndex.findBestOffer(activityId, packageId);
+            
+            if (bestOffer == null) {
                 responseDTO.setStatus(HttpStatus.NOT_FOUND.toString());
                 responseDTO.setMessage("No active offer found for the specified activity and package");
                 return responseDTO;
             }
             
-            // Return the best offer (highest discount)
-            Offer bestOffer = offers.stream()
-                .max((a, b) -> {
-                    if (a.getDiscountPercentage() == null) return -1;
-                    if (b.getDiscountPercentage() == null) return 1;
-                    return Double.compare(a.getDiscountPercentage(), b.getDiscountPercentage());
-                })
-                .orElse(offers.get(0));
-            
             responseDTO.setStatus(HttpStatus.OK.toString());
             responseDTO.setMessage("Offer found for the specified activity and package");
-            responseDTO.setData(mapToDTO(bestOffer));
+            responseDTO.setData(bestOffer);
             
             return responseDTO;
         } catch (Exception e) {
@@ -383,6 +409,80 @@ public class OfferServiceImpl implements OfferService {
         }
     }
     
+    @Override
+    public ResponseDTO<List<PackageOfferCheckDTO>> checkPackageOffers(List<PackageOfferCheckDTO> packages) {
+        ResponseDTO<List<PackageOfferCheckDTO>> responseDTO = new ResponseDTO<>();
+        
+        try {
+            if (packages == null || packages.isEmpty()) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("At least one activity and package pair is required");
+                return responseDTO;
+            }
+            if (packages.size() > MAX_BATCH_PACKAGES) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("At most " + MAX_BATCH_PACKAGES + " packages can be checked at once");
+                return responseDTO;
+            }
+            
+            List<PackageOfferCheckDTO> results = new ArrayList<>(packages.size());
+            for (PackageOfferCheckDTO pair : packages) {
+                OfferDTO bestOffer = pair.getActivityId() != null && pair.getPackageId() != null
+                        ? offerIndex.findBestOffer(pair.getActivityId(), pair.getPackageId())
+                        : null;
+                results.add(new PackageOfferCheckDTO(pair.getActivityId(), pair.getPackageId(), bestOffer));
+            }
+            
+            responseDTO.setStatus(HttpStatus.OK.toString());
+            responseDTO.setMessage("Package offers checked successfully");
+            responseDTO.setData(results);
+            
+            return responseDTO;
+        } catch (Exception e) {
+            log.error("Error checking package offers: {}", e.getMessage());
+            responseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.toString());
+            responseDTO.setMessage("Error checking package offers: " + e.getMessage());
+            return responseDTO;
+        }
+    }
+    
+    @Override
+    public ResponseDTO<Map<Integer, Map<Long, OfferDTO>>> checkActivityOffers(List<Integer> activityIds) {
+        ResponseDTO<Map<Integer, Map<Long, OfferDTO>>> responseDTO = new ResponseDTO<>();
+        
+        try {
+            if (activityIds == null || activityIds.isEmpty()) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("At least one activity ID is required");
+                return responseDTO;
+            }
+            if (activityIds.size() > MAX_BATCH_ACTIVITIES) {
+                responseDTO.setStatus(HttpStatus.BAD_REQUEST.toString());
+                responseDTO.setMessage("At most " + MAX_BATCH_ACTIVITIES + " activities can be checked at once");
+                return responseDTO;
+            }
+            
+            // Activities without any current offer map to an empty object
+            Map<Integer, Map<Long, OfferDTO>> results = new LinkedHashMap<>();
+            for (Integer activityId : activityIds) {
+                if (activityId != null) {
+                    results.put(activityId, offerIndex.findBestOffers(activityId));
+                }
+            }
+            
+            responseDTO.setStatus(HttpStatus.OK.toString());
+            responseDTO.setMessage("Activity offers checked successfully");
+            responseDTO.setData(results);
+            
+            return responseDTO;
+        } catch (Exception e) {
+            log.error("Error checking activity offers: {}", e.getMessage());
+            responseDTO.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.toString());
+            responseDTO.setMessage("Error checking activity offers: " + e.getMessage());
+            return responseDTO;
+        }
+    }
+    
     // Helper methods to map between DTO and Entity
     private OfferDTO mapToDTO(Offer offer) {
         return OfferDTO.builder()
@@ -398,7 +498,8 @@ public class OfferServiceImpl implements OfferService {
                 .activityTitle(offer.getActivityTitle())
                 .startDate(offer.getStartDate())
                 .endDate(offer.getEndDate())
-                .selectedPackages(offer.getSelectedPackages())
+                // Copy the lazy collection so the DTO can be kept in the offer index
+                .selectedPackages(offer.getSelectedPackages() != null ? new ArrayList<>(offer.getSelectedPackages()) : null)
                 .description(offer.getDescription())
                 .build();
     }
@@ -0,0 +1,58 @@
+package com.travelauthority.backend.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.travelauthority.backend.service.IdGenerator;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Snowflake-style IDs: 41 bits of milliseconds since 2024-01-01, 10 bits of node ID
+ * and 12 bits of sequence. The last timestamp and sequence share one AtomicLong that is
+ * advanced with compare-and-set, so callers never block. When a millisecond runs out of
+ * sequence numbers the ID simply moves into the next millisecond, and if the clock goes
+ * backwards IDs keep counting up from the last one handed out.
+ */
+@Service
+@Slf4j
+public class SnowflakeIdGenerator implements IdGenerator {
+
+    private static final long EPOCH = 1704067200000L; // 2024-01-01T00:00:00Z
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private final long nodeId;
+
+    // (timestamp << SEQUENCE_BITS) | sequence of the last ID handed out
+    private final AtomicLong lastState = new AtomicLong();
+
+    public SnowflakeIdGenerator(@Value("${booking.id.node-id:0}") long nodeId) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("booking.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeId = nodeId;
+        log.info("Snowflake ID generator started with node ID {}", nodeId);
+    }
+
+    @Override
+    public long nextId() {
+        long state;
+        while (true) {
+            long now = System.currentTimeMillis() - EPOCH;
+            long last = lastState.get();
+            long next = (last >>> SEQUENCE_BITS) < now ? now << SEQUENCE_BITS : last + 1;
+            if (lastState.compareAndSet(last, next)) {
+                state = next;
+                break;
+            }
+        }
+        long timestamp = state >>> SEQUENCE_BITS;
+        long sequence = state & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+}
@@ -1,7 +1,6 @@
 package com.travelauthority.backend.service.impl;
 
 import java.util.Optional;
-import java.util.Base64;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -23,36 +22,16 @@ public class UserProfileServiceImpl implements UserProfileService {
     private UserRepository userRepository;
     
     @Override
-    public ResponseDTO getUserProfileByToken(String token) {
+    public ResponseDTO getUserProfile(User user) {
         ResponseDTO responseDTO = new ResponseDTO();
         
         try {
-            // Decode token to get user information
-            // This is a simple implementation - in a production app you'd likely use JWT
-            String decodedToken = new String(Base64.getDecoder().decode(token));
-            String[] parts = decodedToken.split(":");
-            
-            if (parts.length < 2) {
-                responseDTO.setMessage("Invalid token format");
-                responseDTO.setStatus(HttpStatus.UNAUTHORIZED.toString());
-                return responseDTO;
-            }
-            
-            int userId = Integer.parseInt(parts[0]);
-            Optional<User> userOpt = userRepository.findById(userId);
-            
-            if (userOpt.isPresent()) {
-                User user = userOpt.get();
-                UserProfileDTO profileDTO = mapUserToProfileDTO(user);
-                
-                responseDTO.setData(profileDTO);
-                responseDTO.setMessage("Profile retrieved successfully");
-                responseDTO.setStatus(HttpStatus.OK.toString());
-            } else {
-                responseDTO.setMessage("User not found");
-                responseDTO.setStatus(HttpStatus.NOT_FOUND.toString());
-            }
+            // The caller was already loaded when the request was authenticated
+            UserProfileDTO profileDTO = mapUserToProfileDTO(user);
             
+            responseDTO.setData(profileDTO);
+            responseDTO.setMessage("Profile retrieved successfully");
+            responseDTO.setStatus(HttpStatus.OK.toString());
             return responseDTO;
         } catch (Exception e) {
             log.error("Error retrieving user profile: {}", e.getMessage());
@@ -1,18 +1,22 @@
 package com.travelauthority.backend.service.impl;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import com.travelauthority.backend.dto.UserDTO;
 import com.travelauthority.backend.dto.ResponseDTO;
 import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.event.DashboardChangedEvent;
 import com.travelauthority.backend.repository.UserRepository;
+import com.travelauthority.backend.service.TokenService;
 import com.travelauthority.backend.service.UserService;
 
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Slf4j
@@ -24,6 +28,13 @@ public class UserServiceImpl implements UserService {
     
     @Autowired
     private org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private TokenService tokenService;
+    
     @Override
     public ResponseDTO saveUser(UserDTO userDTO) {
 
@@ -39,6 +50,7 @@ public class UserServiceImpl implements UserService {
             user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
 
             userRepository.save(user); 
+            eventPublisher.publishEvent(DashboardChangedEvent.userAdded());
 
             responseDTO.setMessage("User saved successfully");
             responseDTO.setStatus(HttpStatus.CREATED.toString());
@@ -98,6 +110,7 @@ public class UserServiceImpl implements UserService {
             Optional<User> existingUser = userRepository.findById(id);
             if (existingUser.isPresent()) {
                 User user = existingUser.get();
+                boolean emailChanged = !Objects.equals(user.getEmail(), userDTO.getEmail());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
                 user.setEmail(userDTO.getEmail());                user.setPhoneNumber(userDTO.getPhoneNumber());
@@ -106,6 +119,10 @@ public class UserServiceImpl implements UserService {
                     user.setPassword(passwordEncoder.encode(userDTO.getPassword()));
                 }
                 userRepository.save(user);
+                // Tokens carry the email, so the old ones must not keep working
+                if (emailChanged) {
+                    tokenService.revokeUser(id);
+                }
                 responseDTO.setData(user);
                 responseDTO.setMessage("User updated successfully");
                 responseDTO.setStatus(HttpStatus.OK.toString());
@@ -127,6 +144,8 @@ public class UserServiceImpl implements UserService {
             Optional<User> user = userRepository.findById(id);
             if (user.isPresent()) {
                 userRepository.deleteById(id);
+                tokenService.revokeUser(id);
+                eventPublisher.publishEvent(DashboardChangedEvent.userRemoved());
                 responseDTO.setMessage("User deleted successfully");
                 responseDTO.setStatus(HttpStatus.OK.toString());
             } else {
@@ -0,0 +1,6 @@
+-- Indexes backing the owner dashboard and owner booking queries, which join bookings to the
+-- owner's activities and group by status
+-- Migration: V10__add_owner_dashboard_indexes.sql
+
+CREATE INDEX idx_activity_created_by ON activity (created_by);
+CREATE INDEX idx_bookings_activity_status ON bookings (activity_id, status);
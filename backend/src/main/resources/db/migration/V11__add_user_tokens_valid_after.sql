@@ -0,0 +1,5 @@
+-- Login tokens issued at or before this time (epoch millis) are rejected, so revoking a
+-- user's tokens survives restarts and reaches every node
+-- Migration: V11__add_user_tokens_valid_after.sql
+
+ALTER TABLE users ADD COLUMN tokens_valid_after BIGINT NULL;
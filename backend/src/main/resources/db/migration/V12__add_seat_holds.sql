@@ -0,0 +1,16 @@
+-- Checkout seat holds; their seats are counted in booking_occupancy until the hold is
+-- claimed by a booking, released or swept after expiry by SeatHoldService
+-- Migration: V12__add_seat_holds.sql
+
+CREATE TABLE IF NOT EXISTS seat_holds (
+    id VARCHAR(36) PRIMARY KEY,
+    user_email VARCHAR(255) NOT NULL,
+    activity_id INT NOT NULL,
+    package_id BIGINT NULL,
+    booking_date VARCHAR(20) NOT NULL,
+    seat_count INT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    INDEX idx_seat_holds_expires_at (expires_at),
+    INDEX idx_seat_holds_user_email (user_email)
+);
@@ -0,0 +1,25 @@
+-- Per-slot booked counts used by availability checks
+-- Migration: V4__add_booking_occupancy.sql
+-- package_id = 0 holds the activity-wide count for a date
+
+CREATE TABLE IF NOT EXISTS booking_occupancy (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    activity_id INT NOT NULL,
+    package_id BIGINT NOT NULL,
+    booking_date VARCHAR(20) NOT NULL,
+    booked_count INT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_booking_occupancy_slot (activity_id, package_id, booking_date)
+);
+
+-- Seed the counters from existing non-cancelled bookings
+INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count)
+SELECT activity_id, package_id, booking_date, SUM(total_persons)
+FROM bookings
+WHERE status <> 'CANCELLED' AND package_id IS NOT NULL
+GROUP BY activity_id, package_id, booking_date;
+
+INSERT INTO booking_occupancy (activity_id, package_id, booking_date, booked_count)
+SELECT activity_id, 0, booking_date, SUM(total_persons)
+FROM bookings
+WHERE status <> 'CANCELLED'
+GROUP BY activity_id, booking_date;
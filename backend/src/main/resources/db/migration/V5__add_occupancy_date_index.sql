@@ -0,0 +1,4 @@
+-- Index for date-range reads of an activity's occupancy (availability calendar)
+-- Migration: V5__add_occupancy_date_index.sql
+
+CREATE INDEX idx_booking_occupancy_activity_date ON booking_occupancy (activity_id, booking_date);
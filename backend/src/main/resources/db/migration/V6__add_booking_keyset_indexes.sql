@@ -0,0 +1,5 @@
+-- Indexes backing the keyset-paginated booking listings (ORDER BY booking_time DESC, id DESC)
+-- Migration: V6__add_booking_keyset_indexes.sql
+
+CREATE INDEX idx_bookings_time_id ON bookings (booking_time, id);
+CREATE INDEX idx_bookings_user_time_id ON bookings (user_id, booking_time, id);
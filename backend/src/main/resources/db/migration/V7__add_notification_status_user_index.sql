@@ -0,0 +1,5 @@
+-- Index backing the set-based "mark all as read" statements, which look up a user's
+-- status rows by user_id and notification_id
+-- Migration: V7__add_notification_status_user_index.sql
+
+CREATE INDEX idx_uns_user_notification ON user_notification_status (user_id, notification_id);
@@ -0,0 +1,9 @@
+-- Per-user "read up to" notification mark; user_notification_status then only holds
+-- reads above the mark instead of one row per user per broadcast notification
+-- Migration: V8__add_notification_watermarks.sql
+
+CREATE TABLE IF NOT EXISTS user_notification_watermarks (
+    user_id INT NOT NULL PRIMARY KEY,
+    read_up_to_id BIGINT NOT NULL,
+    updated_at DATETIME(6) NOT NULL
+);
@@ -0,0 +1,16 @@
+-- Transactional outbox for booking side effects (notifications), drained by OutboxDispatcher
+-- Migration: V9__add_outbox_events.sql
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'PENDING',
+    attempts INT NOT NULL DEFAULT 0,
+    last_error VARCHAR(1000),
+    created_at DATETIME(6) NOT NULL,
+    available_at DATETIME(6) NOT NULL,
+    processed_at DATETIME(6),
+    INDEX idx_outbox_events_status_available (status, available_at)
+);
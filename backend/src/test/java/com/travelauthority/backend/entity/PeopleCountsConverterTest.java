@@ -0,0 +1,47 @@
+package com.travelauthority.backend.entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PeopleCountsConverterTest {
+
+    private final PeopleCountsConverter converter = new PeopleCountsConverter();
+
+    @Test
+    void readsJsonNullAsNull() {
+        assertThat(converter.convertToEntityAttribute("null")).isNull();
+    }
+
+    @Test
+    void readsMissingColumnAsNull() {
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+        assertThat(converter.convertToEntityAttribute("")).isNull();
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+    }
+
+    @Test
+    void roundTripsPeopleCountsAsReadOnlyMap() {
+        Map<String, Integer> peopleCounts = new LinkedHashMap<>();
+        peopleCounts.put("foreignAdult", 2);
+        peopleCounts.put("localKids", 1);
+
+        String json = converter.convertToDatabaseColumn(peopleCounts);
+        Map<String, Integer> read = converter.convertToEntityAttribute(json);
+
+        assertThat(json).isEqualTo("{\"foreignAdult\":2,\"localKids\":1}");
+        assertThat(read).isEqualTo(peopleCounts);
+        assertThatThrownBy(() -> read.put("localAdult", 1)).isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void rejectsMalformedJson() {
+        assertThatThrownBy(() -> converter.convertToEntityAttribute("{foreignAdult"))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Error reading people counts");
+    }
+}
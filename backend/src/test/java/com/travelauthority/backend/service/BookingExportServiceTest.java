@@ -0,0 +1,50 @@
+package com.travelauthority.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.BookingRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BookingExportServiceTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingExportService exportService = new BookingExportService(
+            bookingRepository, mock(EntityManager.class), new ObjectMapper());
+
+    @Test
+    void csvKeepsFormulaLikeCustomerTextAsText() throws Exception {
+        User user = User.builder().firstName("=HYPERLINK(\"http://evil\")").lastName("Guest").email("guest@example.com").build();
+        Booking booking = Booking.builder()
+                .id("TICK-1")
+                .title("@SUM(A1:A9)")
+                .location("Yala, Sri Lanka")
+                .bookingDate("2030-01-15")
+                .totalPersons(2)
+                .totalPrice(120.0)
+                .contactPhone("+94 77 123 4567")
+                .user(user)
+                .build();
+        when(bookingRepository.streamAllForExport()).thenReturn(Stream.of(booking));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.exportAllBookings(BookingExportService.Format.CSV, out);
+
+        String row = out.toString(StandardCharsets.UTF_8).split("\r\n")[1];
+        assertThat(row)
+                .contains(",\"'@SUM(A1:A9)\",")
+                .contains(",\"Yala, Sri Lanka\",")
+                .contains(",\"'=HYPERLINK(\"\"http://evil\"\") Guest\",")
+                .endsWith(",\"'+94 77 123 4567\"")
+                .contains(",120.0,");
+    }
+}
@@ -0,0 +1,222 @@
+package com.travelauthority.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.dto.BookingRequestDTO;
+import com.travelauthority.backend.entity.Activity;
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.Package;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.ActivityRepository;
+import com.travelauthority.backend.repository.BookingOccupancyRepository;
+import com.travelauthority.backend.repository.BookingRepository;
+import com.travelauthority.backend.repository.PackageRepository;
+import com.travelauthority.backend.repository.UserRepository;
+import com.travelauthority.backend.service.impl.AvailabilityServiceImpl;
+import com.travelauthority.backend.service.impl.SnowflakeIdGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Runs hundreds of parallel reservations and bookings against an embedded database in
+ * MySQL mode, checks that a slot is never sold past its capacity and logs the throughput.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:occupancy;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=20000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.datasource.hikari.maximum-pool-size=20"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({BookingOccupancyService.class, AvailabilityServiceImpl.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Slf4j
+class BookingOccupancyServiceConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS = 400;
+    private static final String DATE = "2030-01-15";
+
+    @Autowired
+    private BookingOccupancyService occupancyService;
+
+    @Autowired
+    private BookingOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Activity activity;
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository.deleteAll();
+        occupancyRepository.deleteAll();
+        packageRepository.deleteAll();
+        activityRepository.deleteAll();
+        userRepository.deleteAll();
+        activity = activityRepository.save(Activity.builder().title("Safari").availability(25).build());
+    }
+
+    @Test
+    void parallelReservationsNeverOversellTheActivity() throws Exception {
+        int reserved = reserveInParallel(null, 2);
+
+        assertThat(reserved).isEqualTo(12);
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, DATE)).isEqualTo(24);
+    }
+
+    @Test
+    void parallelReservationsNeverOversellThePackage() throws Exception {
+        Package pkg = packageRepository.save(Package.builder()
+                .name("Morning").price(100.0).availability(7).activity(activity).build());
+
+        int reserved = reserveInParallel(pkg.getId(), 1);
+
+        assertThat(reserved).isEqualTo(7);
+        assertThat(occupancyService.getBookedCount(activity.getId(), pkg.getId(), DATE)).isEqualTo(7);
+        // Package seats are also counted on the activity row; rejected attempts add nothing there
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, DATE)).isEqualTo(7);
+    }
+
+    @Test
+    void packageSeatsAreNotLimitedByTheActivityAvailability() {
+        Activity packagesOnly = activityRepository.save(Activity.builder().title("Dive").availability(0).build());
+        Package pkg = packageRepository.save(Package.builder()
+                .name("Reef").price(80.0).availability(5).activity(packagesOnly).build());
+
+        assertThat(occupancyService.tryReserve(packagesOnly.getId(), pkg.getId(), DATE, 5)).isTrue();
+        assertThat(occupancyService.tryReserve(packagesOnly.getId(), pkg.getId(), DATE, 1)).isFalse();
+        assertThat(occupancyService.getBookedCount(packagesOnly.getId(), null, DATE)).isEqualTo(5);
+    }
+
+    @Test
+    void restoringACancelledBookingCannotOversellTheSlot() {
+        Booking booking = Booking.builder().activityId(activity.getId()).bookingDate(DATE)
+                .totalPersons(5).status(Booking.BookingStatus.CONFIRMED).build();
+        assertThat(occupancyService.tryReserve(activity.getId(), null, DATE, 25)).isTrue();
+
+        assertThatThrownBy(() -> occupancyService.onStatusChange(booking, Booking.BookingStatus.CANCELLED))
+                .hasMessageContaining("Not enough availability");
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, DATE)).isEqualTo(25);
+    }
+
+    @Test
+    void parallelBookingsNeverOversellTheSlot() throws Exception {
+        Activity popular = activityRepository.save(Activity.builder().title("Whale watching").availability(150).build());
+        User user = userRepository.save(User.builder()
+                .firstName("Guest").lastName("User").email("guest@example.com").build());
+        // Wired by hand so only the booking path is real; holds, outbox and events are not under test
+        BookingService bookingService = new BookingService(bookingRepository, userRepository, activityRepository,
+                packageRepository, occupancyService, mock(SeatHoldService.class), new SnowflakeIdGenerator(1),
+                new ObjectMapper(), mock(OutboxService.class), event -> { });
+        ReflectionTestUtils.setField(bookingService, "availabilityService", availabilityService);
+
+        int booked = runInParallel("bookings", () -> {
+            try {
+                // The same transaction the service proxy opens in production
+                transactionTemplate.executeWithoutResult(status ->
+                        bookingService.createBooking(bookingRequest(popular), user));
+                return true;
+            } catch (RuntimeException e) {
+                return false;
+            }
+        });
+
+        int seatsTaken = occupancyService.getBookedCount(popular.getId(), null, DATE);
+        assertThat(seatsTaken).isLessThanOrEqualTo(popular.getAvailability());
+        assertThat(seatsTaken).isEqualTo(booked);
+        assertThat(bookingRepository.count()).isEqualTo(booked);
+        assertThat(booked).isEqualTo(150);
+    }
+
+    // Returns how many of the attempts got their seats
+    private int reserveInParallel(Long packageId, int seats) throws Exception {
+        return runInParallel("reservations",
+                () -> occupancyService.tryReserve(activity.getId(), packageId, DATE, seats));
+    }
+
+    // Starts all attempts at once and returns how many succeeded
+    private int runInParallel(String label, Callable<Boolean> attempt) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < ATTEMPTS; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            long started = System.nanoTime();
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get()) {
+                    succeeded++;
+                }
+            }
+            double seconds = (System.nanoTime() - started) / 1_000_000_000.0;
+            log.info("{} parallel {} on one slot: {} succeeded in {} s, {} attempts and {} successes per second",
+                    ATTEMPTS, label, succeeded, String.format("%.2f", seconds),
+                    String.format("%.0f", ATTEMPTS / seconds), String.format("%.0f", succeeded / seconds));
+            return succeeded;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private BookingRequestDTO bookingRequest(Activity target) {
+        return BookingRequestDTO.builder()
+                .activityId(target.getId())
+                .activityTitle(target.getTitle())
+                .activityLocation("Mirissa")
+                .bookingDate(DATE)
+                .basePrice(40.0)
+                .serviceFee(4.0)
+                .tax(2.0)
+                .totalPrice(46.0)
+                .totalPersons(1)
+                .paymentMethod("CARD")
+                .build();
+    }
+}
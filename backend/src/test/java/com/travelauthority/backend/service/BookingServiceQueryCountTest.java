@@ -0,0 +1,130 @@
+package com.travelauthority.backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelauthority.backend.dto.BookingResponseDTO;
+import com.travelauthority.backend.entity.Activity;
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.entity.Package;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.ActivityRepository;
+import com.travelauthority.backend.repository.BookingRepository;
+import com.travelauthority.backend.repository.PackageRepository;
+import com.travelauthority.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Lists bookings that each have their own user and package and checks that the number of
+ * SQL statements does not grow with the number of bookings.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bookingqueries;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceQueryCountTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private PackageRepository packageRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private BookingService bookingService;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Only the read path is exercised, so the booking-creation collaborators are mocks
+        bookingService = new BookingService(bookingRepository, userRepository, activityRepository,
+                packageRepository, mock(BookingOccupancyService.class), mock(SeatHoldService.class),
+                mock(IdGenerator.class), new ObjectMapper(), mock(OutboxService.class), event -> { });
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listingBookingsUsesTheSameNumberOfStatementsForOneOrManyBookings() {
+        long forOne = statementsToList(1);
+        long forMany = statementsToList(40);
+
+        // The bookings, then all their package features and all their users in one query each
+        assertThat(forOne).isEqualTo(3);
+        assertThat(forMany).isEqualTo(forOne);
+    }
+
+    private long statementsToList(int count) {
+        seed(count);
+        statistics.clear();
+
+        List<BookingResponseDTO> bookings = bookingService.getAllBookings();
+
+        assertThat(bookings).hasSize(count);
+        assertThat(bookings).allSatisfy(booking -> {
+            assertThat(booking.getPackageFeatures()).containsExactly("Guide", "Lunch");
+            assertThat(booking.getUserEmail()).startsWith("guest");
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int count) {
+        bookingRepository.deleteAll();
+        packageRepository.deleteAll();
+        activityRepository.deleteAll();
+        userRepository.deleteAll();
+
+        Activity activity = activityRepository.save(Activity.builder().title("Safari").availability(100).build());
+        for (int i = 0; i < count; i++) {
+            User user = userRepository.save(User.builder()
+                    .firstName("Guest").lastName(String.valueOf(i)).email("guest" + i + "@example.com").build());
+            Package pkg = packageRepository.save(Package.builder()
+                    .name("Package " + i).price(50.0).availability(10).activity(activity)
+                    .features(List.of("Guide", "Lunch")).build());
+            bookingRepository.save(Booking.builder()
+                    .id("TICK-" + i)
+                    .title("Safari")
+                    .location("Yala")
+                    .bookingDate("2030-01-15")
+                    .basePrice(50.0)
+                    .serviceFee(5.0)
+                    .tax(2.0)
+                    .totalPrice(57.0)
+                    .totalPersons(1)
+                    .bookingTime(LocalDateTime.now())
+                    .paymentMethod("CARD")
+                    .packageId(pkg.getId())
+                    .activityId(activity.getId())
+                    .orderNumber("ORD-" + i)
+                    .user(user)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.entity.Booking;
+import com.travelauthority.backend.event.DashboardChangedEvent;
+import com.travelauthority.backend.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DashboardSnapshotTest {
+
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final DashboardSnapshot snapshot = new DashboardSnapshot(bookingRepository);
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.getDashboardAggregates()).thenReturn(rows(1, 100.0));
+        snapshot.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void bookingSeenByReloadBeforeItsCommitIsCountedOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        snapshot.onDashboardChanged(DashboardChangedEvent.bookingAdded(confirmedBooking(50.0)));
+
+        // The reload already sees the new row while the transaction is still finishing
+        when(bookingRepository.getDashboardAggregates()).thenReturn(rows(2, 150.0));
+        snapshot.reload();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(snapshot.getDashboardData())
+                .containsEntry("bookingsByCONFIRMED", 2L)
+                .containsEntry("totalRevenue", 150.0);
+    }
+
+    @Test
+    void rolledBackChangeIsNotCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        snapshot.onDashboardChanged(DashboardChangedEvent.bookingAdded(confirmedBooking(50.0)));
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(snapshot.getDashboardData()).containsEntry("bookingsByCONFIRMED", 1L);
+    }
+
+    @Test
+    void reloadAfterCommitReplacesTotals() {
+        TransactionSynchronizationManager.initSynchronization();
+        snapshot.onDashboardChanged(DashboardChangedEvent.bookingAdded(confirmedBooking(50.0)));
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        when(bookingRepository.getDashboardAggregates()).thenReturn(rows(3, 200.0));
+        snapshot.reload();
+
+        assertThat(snapshot.getDashboardData())
+                .containsEntry("bookingsByCONFIRMED", 3L)
+                .containsEntry("totalBookings", 3L);
+    }
+
+    private static void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+
+    private static Booking confirmedBooking(double totalPrice) {
+        return Booking.builder().status(Booking.BookingStatus.CONFIRMED).totalPrice(totalPrice).build();
+    }
+
+    private static List<Object[]> rows(long confirmed, double revenue) {
+        return List.of(
+                new Object[]{"USERS", 5L, 0},
+                new Object[]{"ACTIVITIES", 2L, 0},
+                new Object[]{"CONFIRMED", confirmed, revenue});
+    }
+}
@@ -0,0 +1,125 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.NotificationDTO;
+import com.travelauthority.backend.entity.Notification;
+import com.travelauthority.backend.event.NotificationChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class NotificationPushServiceTest {
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+    private NotificationPushService pushService;
+
+    @BeforeEach
+    void setUp() {
+        pushService = new NotificationPushService() {
+            @Override
+            SseEmitter newEmitter() {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        ReflectionTestUtils.setField(pushService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(pushService, "bufferSize", 4);
+        ReflectionTestUtils.setField(pushService, "maxConnectionsPerUser", 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        emitters.forEach(emitter -> emitter.gate.countDown());
+        pushService.shutdown();
+    }
+
+    @Test
+    void sendsUnreadCountThenTargetedNotifications() {
+        pushService.subscribe(1, "USER", 3);
+        pushService.subscribe(2, "TRAVEL_ACTIVITY_OWNER", 0);
+        RecordingEmitter user = emitters.get(0);
+        RecordingEmitter owner = emitters.get(1);
+        user.gate.countDown();
+        owner.gate.countDown();
+
+        pushService.onNotificationChanged(created(Notification.TargetUserType.NORMAL_USERS, null));
+        pushService.onNotificationChanged(created(Notification.TargetUserType.SPECIFIC_USER, 2));
+
+        await().atMost(5, TimeUnit.SECONDS).until(() -> user.sent.size() == 2 && owner.sent.size() == 2);
+        assertThat(user.sent.get(0)).contains("event:unread-count").contains("data:3");
+        assertThat(user.sent.get(1)).contains("event:notification");
+        assertThat(owner.sent.get(1)).contains("event:notification");
+    }
+
+    @Test
+    void closesStalledStreamWhenItsQueueFillsUp() {
+        pushService.subscribe(1, "USER", 0);
+        RecordingEmitter stalled = emitters.get(0);
+        // Wait until the first write is stuck in the client, so later pushes pile up in the queue
+        await().atMost(5, TimeUnit.SECONDS).until(() -> stalled.writing.getCount() == 0);
+
+        for (int i = 0; i < 5; i++) {
+            pushService.onNotificationChanged(created(Notification.TargetUserType.ALL_USERS, null));
+        }
+
+        assertThat(stalled.completed).isTrue();
+        pushService.subscribe(1, "USER", 0);
+        assertThat(emitters.get(1).completed).isFalse();
+    }
+
+    @Test
+    void closesOldestStreamOfUserWithTooManyConnections() {
+        pushService.subscribe(1, "USER", 0);
+        pushService.subscribe(1, "USER", 0);
+        pushService.subscribe(1, "USER", 0);
+
+        assertThat(emitters.get(0).completed).isTrue();
+        assertThat(emitters.get(1).completed).isFalse();
+        assertThat(emitters.get(2).completed).isFalse();
+    }
+
+    private static NotificationChangedEvent created(Notification.TargetUserType target, Integer targetUserId) {
+        return NotificationChangedEvent.created(NotificationDTO.builder()
+                .id(1L).title("Title").message("Message")
+                .targetUserType(target).targetUserId(targetUserId)
+                .build());
+    }
+
+    // Records each write; writes block until the gate opens, like a client that stopped reading
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> sent = new CopyOnWriteArrayList<>();
+        private final CountDownLatch gate = new CountDownLatch(1);
+        private final CountDownLatch writing = new CountDownLatch(1);
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            writing.countDown();
+            try {
+                gate.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.OfferDTO;
+import com.travelauthority.backend.event.OfferChangedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OfferIndexTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2030, 6, 15);
+
+    private final List<OfferChangedEvent> events = new ArrayList<>();
+    private OfferIndex offerIndex;
+
+    @BeforeEach
+    void setUp() {
+        offerIndex = new OfferIndex(event -> events.add((OfferChangedEvent) event));
+    }
+
+    @Test
+    void findsHighestDiscountInEffectForPackage() {
+        offerIndex.rebuild(List.of(
+                offer(1, 10.0, TODAY.minusDays(1), TODAY.plusDays(1)),
+                offer(2, 25.0, TODAY.minusDays(1), TODAY.plusDays(1)),
+                offer(3, 50.0, TODAY.plusDays(1), TODAY.plusDays(5)),
+                offer(4, 90.0, null, null)), TODAY);
+
+        assertThat(offerIndex.findBestOffer(7, 100L).getId()).isEqualTo(2);
+        assertThat(offerIndex.findBestOffers(7)).containsOnlyKeys(100L);
+        assertThat(offerIndex.findBestOffer(8, 100L)).isNull();
+        // Open-ended offers are in effect but never apply to a package
+        assertThat(offerIndex.getEffectiveOffers()).extracting(OfferDTO::getId).containsExactlyInAnyOrder(1, 2, 4);
+    }
+
+    @Test
+    void advancingTheDatePublishesOffersThatStartedOrEnded() {
+        offerIndex.rebuild(List.of(
+                offer(1, 10.0, TODAY.minusDays(3), TODAY),
+                offer(2, 20.0, TODAY.plusDays(1), TODAY.plusDays(5))), TODAY);
+        events.clear();
+
+        offerIndex.advanceTo(TODAY.plusDays(1));
+
+        assertThat(offerIndex.findBestOffer(7, 100L).getId()).isEqualTo(2);
+        assertThat(events).singleElement().extracting(OfferChangedEvent::getOfferIds).isEqualTo(Set.of(1, 2));
+    }
+
+    @Test
+    void rebuildWithUnchangedOffersPublishesNothing() {
+        offerIndex.rebuild(List.of(offer(1, 10.0, TODAY, TODAY)), TODAY);
+        events.clear();
+
+        offerIndex.rebuild(List.of(offer(1, 10.0, TODAY, TODAY)), TODAY);
+
+        assertThat(events).isEmpty();
+    }
+
+    @Test
+    void putAndRemoveKeepThePackageLookupCurrent() {
+        offerIndex.rebuild(List.of(offer(1, 10.0, TODAY, TODAY)), TODAY);
+
+        offerIndex.put(offer(2, 30.0, TODAY, TODAY));
+        assertThat(offerIndex.findBestOffer(7, 100L).getId()).isEqualTo(2);
+
+        OfferDTO deactivated = offer(2, 30.0, TODAY, TODAY);
+        deactivated.setActive(false);
+        offerIndex.put(deactivated);
+        assertThat(offerIndex.findBestOffer(7, 100L).getId()).isEqualTo(1);
+
+        offerIndex.remove(1);
+        assertThat(offerIndex.findBestOffer(7, 100L)).isNull();
+        assertThat(offerIndex.getEffectiveOffers()).isEmpty();
+    }
+
+    private static OfferDTO offer(int id, Double discount, LocalDate startDate, LocalDate endDate) {
+        return OfferDTO.builder()
+                .id(id)
+                .title("Offer " + id)
+                .discountPercentage(discount)
+                .active(true)
+                .activityId(7)
+                .selectedPackages(List.of(100L))
+                .startDate(startDate)
+                .endDate(endDate)
+                .build();
+    }
+}
@@ -0,0 +1,124 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.SeatHoldRequestDTO;
+import com.travelauthority.backend.dto.SeatHoldResponseDTO;
+import com.travelauthority.backend.entity.Activity;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.ActivityRepository;
+import com.travelauthority.backend.repository.BookingOccupancyRepository;
+import com.travelauthority.backend.repository.SeatHoldRepository;
+import com.travelauthority.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Checks that stored seat holds keep their seats counted across a rebuild and give them
+ * back exactly once when released or swept after expiry.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:seatholds;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({SeatHoldService.class, BookingOccupancyService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SeatHoldServiceTest {
+
+    private static final String USER_EMAIL = "guest@example.com";
+
+    @Autowired
+    private SeatHoldService seatHoldService;
+
+    @Autowired
+    private BookingOccupancyService occupancyService;
+
+    @Autowired
+    private SeatHoldRepository seatHoldRepository;
+
+    @Autowired
+    private BookingOccupancyRepository occupancyRepository;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Activity activity;
+    private String date;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldRepository.deleteAll();
+        occupancyRepository.deleteAll();
+        activityRepository.deleteAll();
+        userRepository.deleteAll();
+        activity = activityRepository.save(Activity.builder().title("Safari").availability(10).build());
+        userRepository.save(User.builder().firstName("Guest").lastName("User").email(USER_EMAIL).build());
+        date = LocalDate.now().plusDays(7).toString();
+        ReflectionTestUtils.setField(seatHoldService, "holdTtlSeconds", 600L);
+    }
+
+    @Test
+    void rebuildKeepsTheSeatsOfOutstandingHolds() {
+        seatHoldService.createHold(request(4), USER_EMAIL);
+
+        occupancyService.rebuild();
+
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, date)).isEqualTo(4);
+    }
+
+    @Test
+    void releasingAHoldGivesItsSeatsBackOnce() {
+        SeatHoldResponseDTO hold = seatHoldService.createHold(request(4), USER_EMAIL);
+
+        seatHoldService.releaseHold(hold.getHoldId(), USER_EMAIL);
+
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, date)).isZero();
+        assertThatThrownBy(() -> seatHoldService.releaseHold(hold.getHoldId(), USER_EMAIL))
+                .hasMessageContaining("not found");
+    }
+
+    @Test
+    void sweepReleasesExpiredHolds() {
+        ReflectionTestUtils.setField(seatHoldService, "holdTtlSeconds", 0L);
+        seatHoldService.createHold(request(3), USER_EMAIL);
+
+        seatHoldService.releaseExpiredHolds();
+        seatHoldService.releaseExpiredHolds();
+
+        assertThat(seatHoldRepository.count()).isZero();
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, date)).isZero();
+    }
+
+    @Test
+    void holdsPerUserAreCapped() {
+        for (int i = 0; i < 3; i++) {
+            seatHoldService.createHold(request(1), USER_EMAIL);
+        }
+
+        assertThatThrownBy(() -> seatHoldService.createHold(request(1), USER_EMAIL))
+                .hasMessageContaining("active seat holds");
+        assertThat(occupancyService.getBookedCount(activity.getId(), null, date)).isEqualTo(3);
+    }
+
+    private SeatHoldRequestDTO request(int count) {
+        return new SeatHoldRequestDTO(activity.getId(), null, date, count);
+    }
+}
@@ -0,0 +1,127 @@
+package com.travelauthority.backend.service;
+
+import com.travelauthority.backend.dto.AuthPrincipal;
+import com.travelauthority.backend.entity.User;
+import com.travelauthority.backend.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TokenServiceTest {
+
+    private static final String SECRET = "test-secret";
+    private static final long TTL_SECONDS = 3600;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final User user = User.builder().id(42).email("jane@example.com").role(User.Role.TRAVEL_ACTIVITY_OWNER).build();
+
+    @BeforeEach
+    void setUp() {
+        when(userRepository.findTokensValidAfter(42)).thenReturn(Optional.of(0L));
+        when(userRepository.findById(42)).thenReturn(Optional.of(user));
+    }
+
+    @Test
+    void verifiesIssuedTokenWithoutLoadingTheUser() {
+        TokenService tokenService = tokenService(false);
+
+        AuthPrincipal principal = tokenService.verify(tokenService.issue(user));
+
+        assertThat(principal.userId()).isEqualTo(42);
+        assertThat(principal.email()).isEqualTo("jane@example.com");
+        assertThat(principal.isTravelActivityOwner()).isTrue();
+        verify(userRepository, times(0)).findById(42);
+    }
+
+    @Test
+    void rejectsTamperedAndForeignTokens() {
+        TokenService tokenService = tokenService(false);
+        String token = tokenService.issue(user);
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                ("42:ADMIN:" + System.currentTimeMillis() + ":" + Long.MAX_VALUE + ":jane@example.com")
+                        .getBytes(StandardCharsets.UTF_8));
+
+        assertThat(tokenService.verify(payload + token.substring(token.indexOf('.')))).isNull();
+        assertThat(new TokenService(userRepository, "other-secret", TTL_SECONDS, false, 100, 60, 60).verify(token)).isNull();
+        assertThat(tokenService.verify("not-a-token")).isNull();
+    }
+
+    @Test
+    void revokingUserRejectsEarlierTokensAndPersistsTheRevocation() {
+        TokenService tokenService = tokenService(false);
+        String token = tokenService.issue(user);
+        assertThat(tokenService.verify(token)).isNotNull();
+
+        tokenService.revokeUser(42);
+
+        assertThat(tokenService.verify(token)).isNull();
+        verify(userRepository).revokeTokens(eq(42), anyLong());
+    }
+
+    @Test
+    void honoursRevocationStoredByAnotherNode() {
+        TokenService tokenService = tokenService(false);
+        String token = tokenService.issue(user);
+        when(userRepository.findTokensValidAfter(42)).thenReturn(Optional.of(System.currentTimeMillis() + 1000));
+
+        assertThat(tokenService.verify(token)).isNull();
+    }
+
+    @Test
+    void rejectsTokensOfDeletedUser() {
+        TokenService tokenService = tokenService(false);
+        String token = tokenService.issue(user);
+        when(userRepository.findTokensValidAfter(42)).thenReturn(Optional.empty());
+
+        assertThat(tokenService.verify(token)).isNull();
+    }
+
+    @Test
+    void streamTokensAreOnlyAcceptedForTheStream() {
+        TokenService tokenService = tokenService(false);
+        String streamToken = tokenService.issueStreamToken(user);
+        String loginToken = tokenService.issue(user);
+
+        assertThat(tokenService.verifyStreamToken(streamToken).userId()).isEqualTo(42);
+        assertThat(tokenService.verify(streamToken)).isNull();
+        assertThat(tokenService.verifyStreamToken(loginToken)).isNull();
+    }
+
+    @Test
+    void rejectsLegacyTokensByDefault() {
+        assertThat(tokenService(false).verify(legacyToken(System.currentTimeMillis()))).isNull();
+    }
+
+    @Test
+    void acceptsLegacyTokensOnlyWithinTheirOwnLifetime() {
+        TokenService tokenService = tokenService(true);
+        long now = System.currentTimeMillis();
+
+        AuthPrincipal principal = tokenService.verify(legacyToken(now - 1000));
+        assertThat(principal).isNotNull();
+        assertThat(principal.expiresAtMillis()).isEqualTo(now - 1000 + TTL_SECONDS * 1000);
+
+        assertThat(tokenService.verify(legacyToken(now - TTL_SECONDS * 1000 - 1))).isNull();
+        assertThat(tokenService.verify(Base64.getEncoder().encodeToString(
+                "42:jane@example.com".getBytes(StandardCharsets.UTF_8)))).isNull();
+    }
+
+    private TokenService tokenService(boolean acceptLegacy) {
+        return new TokenService(userRepository, SECRET, TTL_SECONDS, acceptLegacy, 100, 60, 60);
+    }
+
+    private static String legacyToken(long timestamp) {
+        return Base64.getEncoder().encodeToString(("42:jane@example.com:" + timestamp).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,109 @@
+package com.travelauthority.backend.service.impl;
+
+import com.travelauthority.backend.dto.ActivityDTO;
+import com.travelauthority.backend.entity.Activity;
+import com.travelauthority.backend.entity.Package;
+import com.travelauthority.backend.repository.ActivityRepository;
+import com.travelauthority.backend.service.ActivityCatalogCache;
+import com.travelauthority.backend.service.ActivityService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Loads the activity catalog with packages, highlights, categories and package features and
+ * checks that the number of SQL statements does not grow with the number of activities.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:activityqueries;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({ActivityServiceImpl.class, ActivityCatalogCache.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ActivityServiceImplQueryCountTest {
+
+    @Autowired
+    private ActivityService activityService;
+
+    @Autowired
+    private ActivityCatalogCache catalogCache;
+
+    @Autowired
+    private ActivityRepository activityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void loadingTheCatalogUsesTheSameNumberOfStatementsForOneOrManyActivities() {
+        long forOne = statementsToLoad(1);
+        long forMany = statementsToLoad(30);
+
+        // Activities with their packages, then highlights, categories and package features in one batch each
+        assertThat(forOne).isEqualTo(4);
+        assertThat(forMany).isEqualTo(forOne);
+    }
+
+    private long statementsToLoad(int count) {
+        seed(count);
+        catalogCache.clear();
+        statistics.clear();
+
+        List<ActivityDTO> activities = activityService.getAllActivities().getData();
+
+        assertThat(activities).hasSize(count);
+        assertThat(activities).allSatisfy(activity -> {
+            assertThat(activity.getHighlights()).containsExactly("Leopards", "Elephants");
+            assertThat(activity.getCategories()).containsExactly("Wildlife");
+            assertThat(activity.getPackages()).hasSize(2)
+                    .allSatisfy(pkg -> assertThat(pkg.getFeatures()).containsExactly("Guide", "Lunch"));
+        });
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void seed(int count) {
+        activityRepository.deleteAll();
+        for (int i = 0; i < count; i++) {
+            Activity activity = Activity.builder()
+                    .title("Safari " + i)
+                    .availability(100)
+                    .highlights(new ArrayList<>(List.of("Leopards", "Elephants")))
+                    .categories(new ArrayList<>(List.of("Wildlife")))
+                    .build();
+            List<Package> packages = new ArrayList<>();
+            for (String name : List.of("Half day", "Full day")) {
+                packages.add(Package.builder()
+                        .name(name).price(50.0).availability(10).activity(activity)
+                        .features(new ArrayList<>(List.of("Guide", "Lunch"))).build());
+            }
+            activity.setPackages(packages);
+            activityRepository.save(activity);
+        }
+    }
+}